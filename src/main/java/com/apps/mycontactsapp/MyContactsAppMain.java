@@ -2,7 +2,6 @@ package com.apps.mycontactsapp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
@@ -28,9 +27,11 @@ import com.apps.mycontactsapp.filter.AccessCountFilter;
 import com.apps.mycontactsapp.filter.AndFilter;
 import com.apps.mycontactsapp.filter.ContactFilter;
 import com.apps.mycontactsapp.filter.DateAddedFilter;
+import com.apps.mycontactsapp.filter.FilterOptimizer;
 import com.apps.mycontactsapp.filter.OrFilter;
 import com.apps.mycontactsapp.filter.TagFilter;
 import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.ContactPage;
 import com.apps.mycontactsapp.model.ContactSortOrder;
 import com.apps.mycontactsapp.model.ContactViewType;
 import com.apps.mycontactsapp.model.Organization;
@@ -42,6 +43,8 @@ import com.apps.mycontactsapp.observer.ContactAuditLogger;
 import com.apps.mycontactsapp.repository.ContactGroupRepository;
 import com.apps.mycontactsapp.repository.ContactRepository;
 import com.apps.mycontactsapp.repository.UserRepository;
+import com.apps.mycontactsapp.repository.impl.CachingContactRepository;
+import com.apps.mycontactsapp.repository.impl.IndexedContactRepository;
 import com.apps.mycontactsapp.repository.stub.ContactGroupRepositoryStub;
 import com.apps.mycontactsapp.repository.stub.ContactRepositoryStub;
 import com.apps.mycontactsapp.repository.stub.UserRepositoryStub;
@@ -72,7 +75,9 @@ public class MyContactsAppMain {
     private static final UserRepository userRepository = new UserRepositoryStub();
     private static final UserService userService = new UserServiceImpl(userRepository);
 
-    private static final ContactRepository contactRepository = new ContactRepositoryStub();
+    private static final CachingContactRepository contactCache = new CachingContactRepository(
+            new IndexedContactRepository(new ContactRepositoryStub()));
+    private static final ContactRepository contactRepository = contactCache;
     private static final ContactService contactService = new ContactServiceImpl(contactRepository);
 
     private static final ContactGroupRepository contactGroupRepository = new ContactGroupRepositoryStub();
@@ -91,6 +96,8 @@ public class MyContactsAppMain {
         }
         // Register Observers for auditing
         contactService.addObserver(new ContactAuditLogger());
+        // Drop cached contact lists on deletions
+        contactService.addObserver(contactCache);
     }
 
     /**
@@ -355,7 +362,7 @@ public class MyContactsAppMain {
                     createOrganizationContact(user);
                     break;
                 case 3:
-                    listContacts(contactService.getContacts(user));
+                    listContactsPagedUI(user);
                     break;
                 case 4:
                     searchContactsUI(user);
@@ -430,6 +437,44 @@ public class MyContactsAppMain {
         }
     }
 
+    /**
+     * UI flow to list contacts one page at a time, using the user's preferred
+     * page size and sort order.
+     * 
+     * @param user the user.
+     */
+    private static void listContactsPagedUI(User user) {
+        ProfilePreferences prefs = user.getPreferences();
+        int pageSize = prefs != null && prefs.getContactsPerPage() > 0 ? prefs.getContactsPerPage() : 10;
+        ContactSortOrder sortOrder = prefs != null ? prefs.getDefaultSortOrder() : ContactSortOrder.NAME_ASC;
+
+        String token = null;
+        int offset = 0;
+        try {
+            while (true) {
+                ContactPage page = contactService.getContactsPage(user, sortOrder, pageSize, token);
+                if (page.getContacts().isEmpty() && offset == 0) {
+                    System.out.println("No contacts found.");
+                    return;
+                }
+                System.out.printf("%-5s %-25s %-15s %-10s%n", "No.", "Name", "Type", "Active");
+                for (Contact c : page.getContacts()) {
+                    System.out.printf("%-5d %-25s %-15s %-10s%n", ++offset, c.getDisplayName(),
+                            c.getClass().getSimpleName(), c.isActive());
+                }
+                if (!page.hasNext()) {
+                    return;
+                }
+                if (!readString("Enter 'n' for the next page, anything else to stop:").equalsIgnoreCase("n")) {
+                    return;
+                }
+                token = page.getNextPageToken();
+            }
+        } catch (ValidationException e) {
+            System.out.println("ERROR: " + e.getMessage());
+        }
+    }
+
     /**
      * Helper to list contacts in a formatted way.
      * 
@@ -461,9 +506,15 @@ public class MyContactsAppMain {
         System.out.println("4. Tag (exact)");
         System.out.println("5. Advanced (Name AND Tag)");
         System.out.println("6. Advanced (Name OR Phone)");
-        System.out.println("7. Back");
-
-        int choice = readInt("Enter choice:", 1, 7);
+        System.out.println("7. Phone (starts with)");
+        System.out.println("8. Phone (ends with)");
+        System.out.println("9. Email (domain)");
+        System.out.println("10. Email (name starts with)");
+        System.out.println("11. Tags (all of / none of)");
+        System.out.println("12. Added in the last N days");
+        System.out.println("13. Back");
+
+        int choice = readInt("Enter choice:", 1, 13);
         Specification<Contact> spec = null;
 
         switch (choice) {
@@ -488,6 +539,31 @@ public class MyContactsAppMain {
                         .or(ContactSpecifications.phoneContains(readString("Phone part:")));
                 break;
             case 7:
+                spec = ContactSpecifications.phoneStartsWith(readString("Leading digits:"));
+                break;
+            case 8:
+                spec = ContactSpecifications.phoneEndsWith(readString("Trailing digits:"));
+                break;
+            case 9:
+                spec = ContactSpecifications.emailDomain(readString("Domain (e.g. acme.com):"));
+                break;
+            case 10:
+                spec = ContactSpecifications.emailLocalPartStartsWith(readString("Text before '@' starts with:"));
+                break;
+            case 11:
+                List<String> allOf = readList("Must have tags (comma separated):");
+                List<String> noneOf = readList("Must not have tags (comma separated):");
+                List<Contact> tagged = contactService.getContactsByTags(user, allOf, noneOf);
+                System.out.println("Found " + tagged.size() + " results:");
+                listContacts(tagged);
+                return;
+            case 12:
+                int days = readInt("Days:", 0, 36500);
+                List<Contact> recent = contactService.getContactsAddedSince(user, LocalDateTime.now().minusDays(days));
+                System.out.println("Found " + recent.size() + " results:");
+                listContacts(recent);
+                return;
+            case 13:
                 return;
         }
 
@@ -506,18 +582,43 @@ public class MyContactsAppMain {
     private static void advancedFilterSortUI(User user) {
         System.out.println("\n--- Advanced Filter & Sort ---");
         ContactFilter filter = selectContactFilter();
+        if (filter != null) {
+            System.out.println("Combine with another filter: 1. AND, 2. OR, 3. No");
+            int logic = readInt("Choice:", 1, 3);
+            if (logic != 3) {
+                ContactFilter second = selectContactFilter();
+                if (second != null) {
+                    filter = logic == 1 ? new AndFilter(filter, second) : new OrFilter(filter, second);
+                }
+            }
+            // Let composite chains reorder themselves by measured cost
+            filter = FilterOptimizer.optimize(filter);
+        }
 
         System.out.println("Sort Order: 1. Name, 2. Date Added, 3. Frequency");
         int sort = readInt("Choice:", 1, 3);
-        Comparator<Contact> comp = ContactComparators.BY_NAME_ASC;
-        if (sort == 2)
-            comp = ContactComparators.BY_DATE_ADDED_NEWEST;
-        if (sort == 3)
-            comp = ContactComparators.BY_ACCESS_FREQUENCY;
 
-        List<Contact> results = contactService.getContacts(user).stream()
+        if (sort == 3 && filter == null) {
+            // Unfiltered frequency view: read the top entries from the maintained
+            // ranking instead of sorting every contact
+            ProfilePreferences prefs = user.getPreferences();
+            int k = prefs != null && prefs.getContactsPerPage() > 0 ? prefs.getContactsPerPage() : 10;
+            System.out.println("Top " + k + " most contacted:");
+            listContacts(contactService.getMostContacted(user, k));
+            return;
+        }
+
+        // Read the contacts already in order from the maintained indexes and
+        // filter while traversing, instead of sorting on every call
+        List<Contact> sorted;
+        if (sort == 1)
+            sorted = contactService.getContactsSorted(user, ContactSortOrder.NAME_ASC);
+        else if (sort == 2)
+            sorted = contactService.getContactsSorted(user, ContactSortOrder.RECENTLY_ADDED);
+        else
+            sorted = contactService.getMostContacted(user, Integer.MAX_VALUE);
+        List<Contact> results = sorted.stream()
                 .filter(filter != null ? filter::test : c -> true)
-                .sorted(comp)
                 .collect(Collectors.toList());
 
         System.out.println("Results:");
@@ -618,7 +719,7 @@ public class MyContactsAppMain {
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
-                }));
+                }, contactRepository::save));
             }
         } else if (contact instanceof Organization) {
             String newName = readString("New Org Name (enter to skip):");
@@ -629,7 +730,7 @@ public class MyContactsAppMain {
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
-                }));
+                }, contactRepository::save));
             }
         }
 
@@ -646,7 +747,7 @@ public class MyContactsAppMain {
                     } catch (ValidationException e) {
                         System.err.println("Error adding tag: " + e.getMessage());
                     }
-                }));
+                }, contactRepository::save));
                 System.out.println("Tag added.");
             }
         } else if (tagChoice == 2) {
@@ -658,7 +759,7 @@ public class MyContactsAppMain {
                     } catch (ValidationException e) {
                         System.err.println("Error removing tag: " + e.getMessage());
                     }
-                }));
+                }, contactRepository::save));
                 System.out.println("Tag removed from contact (remains in global list).");
             }
         }
@@ -829,9 +930,12 @@ public class MyContactsAppMain {
             System.out.println("\n--- Global Tag Management ---");
             System.out.println("1. List All Global Tags");
             System.out.println("2. Create New Tag");
-            System.out.println("3. Back");
+            System.out.println("3. Tag Multiple Contacts");
+            System.out.println("4. Untag Multiple Contacts");
+            System.out.println("5. Rename / Merge Tag");
+            System.out.println("6. Back");
 
-            int choice = readInt("Choice:", 1, 3);
+            int choice = readInt("Choice:", 1, 6);
 
             switch (choice) {
                 case 1:
@@ -850,12 +954,65 @@ public class MyContactsAppMain {
                     System.out.println("Tag '" + name + "' added to your global list.");
                     break;
                 case 3:
+                case 4:
+                    bulkTagUI(user, choice == 3);
+                    break;
+                case 5:
+                    String from = readString("Current tag name:");
+                    String to = readString("New tag name (existing tags are merged):");
+                    try {
+                        int renamed = contactService.renameTag(user, from, to);
+                        System.out.println("Renamed on " + renamed + " contact(s).");
+                    } catch (ValidationException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+                    break;
+                case 6:
                     inMenu = false;
                     break;
             }
         }
     }
 
+    /**
+     * UI for adding or removing one tag on several contacts in a single batch.
+     * 
+     * @param user the logged-in user.
+     * @param add  true to tag the selected contacts, false to untag them.
+     */
+    private static void bulkTagUI(User user, boolean add) {
+        List<Contact> contacts = contactService.getContacts(user);
+        if (contacts.isEmpty()) {
+            System.out.println("No contacts found.");
+            return;
+        }
+        listContacts(contacts);
+        String selection = readString("Select contacts (comma-separated numbers, or 'all'):");
+        List<java.util.UUID> ids = new java.util.ArrayList<>();
+        if (selection.trim().equalsIgnoreCase("all")) {
+            contacts.forEach(c -> ids.add(c.getId()));
+        } else {
+            for (String part : selection.split(",")) {
+                try {
+                    int i = Integer.parseInt(part.trim()) - 1;
+                    if (i >= 0 && i < contacts.size()) {
+                        ids.add(contacts.get(i).getId());
+                    }
+                } catch (NumberFormatException e) {
+                    System.out.println("Skipping invalid selection: " + part.trim());
+                }
+            }
+        }
+        String tag = readString("Tag:");
+        try {
+            int changed = add ? contactService.tagContacts(user, ids, tag)
+                    : contactService.untagContacts(user, ids, tag);
+            System.out.println((add ? "Tagged " : "Untagged ") + changed + " contact(s).");
+        } catch (ValidationException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
     /**
      * UI menu for admin operations.
      * 
@@ -885,9 +1042,11 @@ public class MyContactsAppMain {
                 case 2:
                     String query = readString("Name query (global):");
                     Specification<Contact> spec = ContactSpecifications.nameContains(query);
-                    List<Contact> results = contactService.searchContacts(admin, spec);
+                    List<Contact> results = contactService.searchContacts(admin, spec,
+                            ContactComparators.BY_NAME_ASC, true);
                     System.out.println("Found " + results.size() + " matches across all users.");
                     listContacts(results);
+                    System.out.print(contactService.explainSearch(spec));
                     break;
                 case 3:
                     String email = readString("User Email to delete:");
@@ -902,6 +1061,20 @@ public class MyContactsAppMain {
                     // UC-11: Flyweight Pattern Verification
                     System.out.println("Total Flyweight Tags in Memory: "
                             + com.apps.mycontactsapp.factory.TagFactory.getPoolSize());
+                    System.out.println("Tag Pool Hits: " + com.apps.mycontactsapp.factory.TagFactory.getHitCount()
+                            + ", Misses: " + com.apps.mycontactsapp.factory.TagFactory.getMissCount()
+                            + ", Evictions: " + com.apps.mycontactsapp.factory.TagFactory.getEvictionCount());
+                    System.out.printf("Contact Cache: %d contacts cached, hit ratio %.2f (%d hits, %d misses),"
+                            + " %d evictions, %d invalidations, avg load %.3f ms%n",
+                            contactCache.getCachedContactCount(), contactCache.getHitRatio(),
+                            contactCache.getHitCount(), contactCache.getMissCount(), contactCache.getEvictionCount(),
+                            contactCache.getInvalidationCount(), contactCache.getAverageLoadNanos() / 1_000_000.0);
+                    contactRepository.indexes()
+                            .flatMap(indexes -> indexes.get(com.apps.mycontactsapp.index.SearchResultCache.class))
+                            .ifPresent(cache -> System.out.println("Search Cache: " + cache.size() + " results, "
+                                    + cache.getHitCount() + " hits, " + cache.getMissCount() + " misses, "
+                                    + cache.getEvictionCount() + " evictions, " + cache.getInvalidationCount()
+                                    + " invalidations"));
                     break;
                 case 5:
                     inMenu = false;
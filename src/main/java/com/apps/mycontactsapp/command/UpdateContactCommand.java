@@ -1,5 +1,7 @@
 package com.apps.mycontactsapp.command;
 
+import java.util.function.Consumer;
+
 import com.apps.mycontactsapp.exceptions.ValidationException;
 import com.apps.mycontactsapp.model.Contact;
 import com.apps.mycontactsapp.model.ContactMemento;
@@ -13,11 +15,26 @@ public class UpdateContactCommand implements Command {
     private final ContactMemento oldState;
     private ContactMemento newState;
     private final Runnable updateAction;
+    private final Consumer<Contact> onStateChanged;
 
     public UpdateContactCommand(Contact contact, Runnable updateAction) {
+        this(contact, updateAction, c -> {
+        });
+    }
+
+    /**
+     * Creates an update command that reports every state change (execute, undo
+     * and redo), e.g. so the contact can be saved back to its repository.
+     * 
+     * @param contact        the contact to update.
+     * @param updateAction   the update to apply.
+     * @param onStateChanged callback invoked after the contact state changes.
+     */
+    public UpdateContactCommand(Contact contact, Runnable updateAction, Consumer<Contact> onStateChanged) {
         this.contact = contact;
         this.oldState = contact.createMemento();
         this.updateAction = updateAction;
+        this.onStateChanged = onStateChanged;
     }
 
     /**
@@ -38,6 +55,7 @@ public class UpdateContactCommand implements Command {
             // Redo: restore the new state
             contact.restore(newState);
         }
+        onStateChanged.accept(contact);
     }
 
     /**
@@ -46,5 +64,6 @@ public class UpdateContactCommand implements Command {
     @Override
     public void undo() {
         contact.restore(oldState);
+        onStateChanged.accept(contact);
     }
 }
@@ -2,27 +2,39 @@ package com.apps.mycontactsapp.comparator;
 
 import java.util.Comparator;
 import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.ContactSortOrder;
 
 /**
  * Strategy holder for Contact sorting comparisons.
  */
 public class ContactComparators {
 
-        /** Comparator for sorting by Display Name (A-Z) case-insensitive. */
-        public static final Comparator<Contact> BY_NAME_ASC = Comparator.comparing(Contact::getDisplayName,
-                        String.CASE_INSENSITIVE_ORDER);
+        /** Comparator for sorting by Display Name (A-Z) case-insensitive, via the cached sort key. */
+        public static final Comparator<Contact> BY_NAME_ASC = Comparator.comparing(Contact::getNameSortKey);
 
         /** Comparator for sorting by Display Name (Z-A) case-insensitive. */
         public static final Comparator<Contact> BY_NAME_DESC = BY_NAME_ASC.reversed();
 
         /** Comparator for sorting by Date Added (Newest first). */
-        public static final Comparator<Contact> BY_DATE_ADDED_NEWEST = Comparator.comparing(Contact::getCreatedAt)
+        public static final Comparator<Contact> BY_DATE_ADDED_NEWEST = Comparator.comparingLong(Contact::getCreatedAtMillis)
                         .reversed();
 
         /** Comparator for sorting by Date Added (Oldest first). */
-        public static final Comparator<Contact> BY_DATE_ADDED_OLDEST = Comparator.comparing(Contact::getCreatedAt);
+        public static final Comparator<Contact> BY_DATE_ADDED_OLDEST = Comparator
+                        .comparingLong(Contact::getCreatedAtMillis);
 
         /** Comparator for sorting by Access Frequency (Most Frequent first). */
         public static final Comparator<Contact> BY_ACCESS_FREQUENCY = Comparator.comparingInt(Contact::getAccessCount)
                         .reversed(); // Most frequent first
+
+        /**
+         * Gets a total ordering for a sort order, breaking ties by contact ID so
+         * that paging through it never skips or repeats a contact.
+         *
+         * @param order the sort order.
+         * @return the comparator, consistent with {@link ContactSortKey}.
+         */
+        public static Comparator<Contact> forSortOrder(ContactSortOrder order) {
+                return Comparator.comparing(contact -> ContactSortKey.of(order, contact));
+        }
 }
@@ -0,0 +1,189 @@
+package com.apps.mycontactsapp.comparator;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.ContactSortOrder;
+import com.apps.mycontactsapp.util.DateTimeUtil;
+
+/**
+ * Position of a contact within a {@link ContactSortOrder}.
+ *
+ * Keys order exactly like the matching {@link ContactComparators} comparator,
+ * with the contact ID as a tie-breaker so the order is total. This makes a key
+ * usable as a keyset pagination cursor: the next page is everything strictly
+ * after the last key of the previous one. NAME_DESC is the exact reverse of
+ * NAME_ASC, ties included, so one ascending tree can serve both.
+ *
+ * Name keys use the contact's cached {@link Contact#getNameSortKey()}, so
+ * comparisons are plain string comparisons with no per-call case folding.
+ */
+public final class ContactSortKey implements Comparable<ContactSortKey> {
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final ContactSortOrder order;
+    private final String foldedName;
+    private final long createdAtMillis;
+    private final UUID id;
+
+    private ContactSortKey(ContactSortOrder order, String foldedName, long createdAtMillis, UUID id) {
+        this.order = order;
+        this.foldedName = foldedName;
+        this.createdAtMillis = createdAtMillis;
+        this.id = id;
+    }
+
+    /**
+     * Builds the sort key of a contact.
+     *
+     * @param order   the sort order.
+     * @param contact the contact.
+     * @return the contact's key in that order.
+     */
+    public static ContactSortKey of(ContactSortOrder order, Contact contact) {
+        if (order == ContactSortOrder.RECENTLY_ADDED) {
+            return new ContactSortKey(order, null, contact.getCreatedAtMillis(), contact.getId());
+        }
+        return new ContactSortKey(order, contact.getNameSortKey(), 0L, contact.getId());
+    }
+
+    /**
+     * Builds the key that sorts last among contacts added at the given instant
+     * in RECENTLY_ADDED order. Every contact added at or after that instant
+     * sorts at or before it, which makes it the bound for "added since" range
+     * queries.
+     *
+     * @param createdAt the instant.
+     * @return the boundary key.
+     */
+    public static ContactSortKey recentlyAddedBound(LocalDateTime createdAt) {
+        // Contacts keep millisecond precision, so round a finer instant up
+        long millis = DateTimeUtil.toEpochMillis(createdAt);
+        if (createdAt.getNano() % 1_000_000 != 0) {
+            millis++;
+        }
+        return new ContactSortKey(ContactSortOrder.RECENTLY_ADDED, null, millis, MAX_ID);
+    }
+
+    /**
+     * Re-expresses a name key in the other name order, keeping its position.
+     *
+     * @param target NAME_ASC or NAME_DESC.
+     * @return the key with the target order.
+     * @throws IllegalArgumentException if either order is not a name order.
+     */
+    public ContactSortKey withNameOrder(ContactSortOrder target) {
+        if (order == ContactSortOrder.RECENTLY_ADDED || target == ContactSortOrder.RECENTLY_ADDED) {
+            throw new IllegalArgumentException("Not a name order: " + order + " -> " + target);
+        }
+        return target == order ? this : new ContactSortKey(target, foldedName, 0L, id);
+    }
+
+    /**
+     * Gets the sort order this key belongs to.
+     *
+     * @return the sort order.
+     */
+    public ContactSortOrder getOrder() {
+        return order;
+    }
+
+    /**
+     * Gets the ID of the contact this key was built from.
+     *
+     * @return the contact ID.
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Compares two keys of the same sort order.
+     *
+     * @param other the other key.
+     * @return negative, zero or positive as this key sorts before, equal to or
+     *         after the other.
+     */
+    @Override
+    public int compareTo(ContactSortKey other) {
+        switch (order) {
+            case NAME_DESC: {
+                int result = other.foldedName.compareTo(foldedName);
+                return result != 0 ? result : other.id.compareTo(id);
+            }
+            case RECENTLY_ADDED: {
+                int result = Long.compare(other.createdAtMillis, createdAtMillis);
+                return result != 0 ? result : id.compareTo(other.id);
+            }
+            case NAME_ASC:
+            default: {
+                int result = foldedName.compareTo(other.foldedName);
+                return result != 0 ? result : id.compareTo(other.id);
+            }
+        }
+    }
+
+    /**
+     * Encodes this key as an opaque, URL-safe continuation token.
+     *
+     * @return the token.
+     */
+    public String toToken() {
+        String value = order == ContactSortOrder.RECENTLY_ADDED ? Long.toString(createdAtMillis) : foldedName;
+        String raw = order.name() + '\n' + id + '\n' + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token produced by {@link #toToken()}.
+     *
+     * @param token the token.
+     * @return the decoded key.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static ContactSortKey fromToken(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 3);
+            ContactSortOrder order = ContactSortOrder.valueOf(parts[0]);
+            UUID id = UUID.fromString(parts[1]);
+            if (order == ContactSortOrder.RECENTLY_ADDED) {
+                return new ContactSortKey(order, null, Long.parseLong(parts[2]), id);
+            }
+            return new ContactSortKey(order, parts[2], 0L, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed page token.", e);
+        }
+    }
+
+    /**
+     * Checks equality based on order, sort value and contact ID.
+     *
+     * @param o the object to compare.
+     * @return true if equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ContactSortKey that = (ContactSortKey) o;
+        return order == that.order && Objects.equals(foldedName, that.foldedName)
+                && createdAtMillis == that.createdAtMillis && id.equals(that.id);
+    }
+
+    /**
+     * Generates a hash code based on order, sort value and contact ID.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(order, foldedName, createdAtMillis, id);
+    }
+}
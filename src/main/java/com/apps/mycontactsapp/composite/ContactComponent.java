@@ -52,4 +52,14 @@ public interface ContactComponent {
     default Set<String> getTags() {
         return java.util.Collections.emptySet();
     }
+
+    /**
+     * Optional: Visits each tag associated with this component.
+     * Implementing classes may override this to avoid building a set.
+     * 
+     * @param action the action to run for each tag name.
+     */
+    default void forEachTag(java.util.function.Consumer<String> action) {
+        getTags().forEach(action);
+    }
 }
@@ -146,9 +146,9 @@ public class ContactGroup implements ContactComponent {
      */
     @Override
     public Set<String> getTags() {
-        // Aggregate all unique tags from all components
-        return components.stream()
-                .flatMap(c -> c.getTags().stream())
-                .collect(Collectors.toSet());
+        // Aggregate all unique tags from all components into one set
+        Set<String> tags = new java.util.HashSet<>();
+        components.forEach(c -> c.forEachTag(tags::add));
+        return tags;
     }
 }
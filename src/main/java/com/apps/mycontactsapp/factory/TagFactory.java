@@ -1,44 +1,208 @@
 package com.apps.mycontactsapp.factory;
 
 import com.apps.mycontactsapp.model.Tag;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Factory class for managing Tag instances.
  * Implements the Flyweight Pattern to ensure unique Tag objects are shared.
+ * Each pooled tag also gets a dense int id for use by bitmap indexes.
+ *
+ * The pool is safe for concurrent use. Tags are created through a single
+ * atomic compute-if-absent on their name, and each entry carries a reference
+ * count updated by compare-and-set, so lookups, acquires and releases do not
+ * lock or allocate. Contacts hold tags by id and count as references through
+ * {@link #acquire(String)}, {@link #retain(int)} and {@link #release(int)}; a
+ * tag is evicted when its last reference is released, or by a sweep if it was
+ * interned but never referenced. Eviction first marks the entry dead, so a
+ * racing acquire either revives it beforehand or creates a fresh entry after.
+ * Tags still referenced are never evicted, so their ids always resolve. The
+ * ids of evicted tags are recycled, so the id table stays as large as the
+ * number of live tags rather than growing with every tag ever created.
+ * Contacts give their references back when they drop a tag or are hard
+ * deleted, and short-lived holders such as decoded copies and mementos give
+ * them back once they become unreachable.
  */
 public class TagFactory {
+    // Interned-but-unreferenced tags are swept after this many misses
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private static final class Entry {
+        private static final int DEAD = -1;
+
+        private final Tag tag;
+        // Number of references, or DEAD once evicted
+        private final AtomicInteger references = new AtomicInteger();
+
+        private Entry(Tag tag) {
+            this.tag = tag;
+        }
+
+        private boolean tryRetain() {
+            for (int n = references.get(); n != DEAD; n = references.get()) {
+                if (references.compareAndSet(n, n + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean tryKill() {
+            return references.compareAndSet(0, DEAD);
+        }
+    }
+
     // Pool of flyweight Tag objects
-    private static final Map<String, Tag> tagPool = new HashMap<>();
+    private static final ConcurrentMap<String, Entry> tagPool = new ConcurrentHashMap<>();
+    // Evicted ids are held back until this many are free, and then handed out
+    // oldest first, so a reader still holding an older contact version is
+    // unlikely to see one of its ids name a different tag
+    private static final int ID_REUSE_DELAY = 256;
+
+    // Pooled tags by id, for lock-free resolution; grown under idLock
+    private static volatile AtomicReferenceArray<Tag> tagsById = new AtomicReferenceArray<>(64);
+    private static final Object idLock = new Object();
+    // Next never-used dense id, and evicted ids waiting to be reused; both
+    // guarded by idLock
+    private static int nextId = 0;
+    private static final Deque<Integer> freeIds = new ArrayDeque<>();
+
+    private static final LongAdder lookups = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+    private static final AtomicInteger missesSinceSweep = new AtomicInteger();
 
     /**
      * Returns a Tag instance for the given name.
      * If the tag already exists, returns the existing instance.
      * Otherwise, creates a new instance, stores it in the pool, and returns it.
+     * The returned tag is not counted as referenced; use {@link #acquire(String)}
+     * to hold on to it by id.
      *
      * @param name the name of the tag
      * @return the Flyweight Tag instance
      */
     public static Tag getTag(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Tag name cannot be null or empty");
+        return intern(name, false).tag;
+    }
+
+    /**
+     * Returns the pooled Tag for the given name and counts one reference to
+     * it, atomically, so it cannot be evicted until {@link #release(int)}.
+     *
+     * @param name the name of the tag
+     * @return the Flyweight Tag instance
+     */
+    public static Tag acquire(String name) {
+        return intern(name, true).tag;
+    }
+
+    /**
+     * Counts one more reference to a tag that is already referenced, e.g. by a
+     * contact being copied. Fails if the tag was evicted in the meantime; the
+     * caller should then re-read the ids it is copying.
+     *
+     * @param id the id of a referenced tag.
+     * @return true if the reference was counted, false if no pooled tag has
+     *         that id any more.
+     */
+    public static boolean retain(int id) {
+        Tag tag = findTagById(id);
+        if (tag == null) {
+            return false;
         }
-        String normalizedKey = name.trim(); // simple normalization
+        Entry entry = tagPool.get(tag.getName());
+        return entry != null && entry.tag == tag && entry.tryRetain();
+    }
+
+    /**
+     * Drops one reference to a tag, evicting it when none remain.
+     *
+     * @param id the id of a referenced tag.
+     */
+    public static void release(int id) {
+        AtomicReferenceArray<Tag> table = tagsById;
+        Tag tag = id >= 0 && id < table.length() ? table.get(id) : null;
+        if (tag == null) {
+            return;
+        }
+        Entry entry = tagPool.get(tag.getName());
+        if (entry != null && entry.tag == tag && entry.references.decrementAndGet() == 0) {
+            evict(entry);
+        }
+    }
+
+    /**
+     * Returns the Tag with the given id.
+     *
+     * @param id the id assigned by this factory.
+     * @return the Flyweight Tag instance.
+     * @throws IllegalArgumentException if no pooled tag has that id.
+     */
+    public static Tag getTagById(int id) {
+        AtomicReferenceArray<Tag> table = tagsById;
+        Tag tag = id >= 0 && id < table.length() ? table.get(id) : null;
+        if (tag == null) {
+            throw new IllegalArgumentException("Unknown tag id: " + id);
+        }
+        return tag;
+    }
+
+    /**
+     * Returns the Tag with the given id, if it is still pooled. Readers holding
+     * an older contact version use this, since a tag untagged since may have
+     * been evicted.
+     *
+     * @param id the id assigned by this factory.
+     * @return the Flyweight Tag instance, or null if no pooled tag has that id.
+     */
+    public static Tag findTagById(int id) {
+        AtomicReferenceArray<Tag> table = tagsById;
+        return id >= 0 && id < table.length() ? table.get(id) : null;
+    }
 
-        // Check if tag exists in pool
-        if (!tagPool.containsKey(normalizedKey)) {
-            tagPool.put(normalizedKey, new Tag(normalizedKey));
+    /**
+     * Returns the pooled Tag with the given name without creating one.
+     *
+     * @param name the name of the tag
+     * @return the Flyweight Tag instance, or null if the name is not pooled.
+     */
+    public static Tag findTag(String name) {
+        if (name == null) {
+            return null;
         }
+        Entry entry = tagPool.get(name.trim());
+        return entry == null ? null : entry.tag;
+    }
 
-        return tagPool.get(normalizedKey);
+    /**
+     * Evicts every pooled tag that no contact references.
+     *
+     * @return the number of tags evicted.
+     */
+    public static int evictUnused() {
+        int evicted = 0;
+        for (Entry entry : tagPool.values()) {
+            if (evict(entry)) {
+                evicted++;
+            }
+        }
+        return evicted;
     }
 
     /**
      * Clears the tag pool. Useful for testing or constraints.
+     * Tags still referenced by contacts are kept, since contacts refer to them
+     * by id.
      */
     public static void clear() {
-        tagPool.clear();
+        evictUnused();
     }
 
     /**
@@ -48,12 +212,105 @@ public class TagFactory {
         return tagPool.size();
     }
 
+    /**
+     * Returns how many lookups found an existing tag.
+     *
+     * @return the hit count.
+     */
+    public static long getHitCount() {
+        return lookups.sum() - misses.sum();
+    }
+
+    /**
+     * Returns how many lookups had to create a tag.
+     *
+     * @return the miss count.
+     */
+    public static long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how many tags have been evicted from the pool.
+     *
+     * @return the eviction count.
+     */
+    public static long getEvictionCount() {
+        return evictions.sum();
+    }
+
     /**
      * Returns a set of all tags currently in the pool.
-     * 
+     *
      * @return a Set of Tag objects.
      */
     public static java.util.Set<Tag> getAllTags() {
-        return new java.util.HashSet<>(tagPool.values());
+        java.util.Set<Tag> tags = new java.util.HashSet<>();
+        tagPool.values().forEach(entry -> tags.add(entry.tag));
+        return tags;
+    }
+
+    private static Entry intern(String name, boolean retain) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tag name cannot be null or empty");
+        }
+        String normalizedKey = name.trim(); // simple normalization
+
+        lookups.increment();
+        while (true) {
+            Entry entry = tagPool.get(normalizedKey);
+            if (entry == null) {
+                entry = tagPool.computeIfAbsent(normalizedKey, TagFactory::create);
+                if (missesSinceSweep.get() >= SWEEP_INTERVAL) {
+                    missesSinceSweep.set(0);
+                    evictUnused();
+                }
+            }
+            if (!retain ? entry.references.get() != Entry.DEAD : entry.tryRetain()) {
+                return entry;
+            }
+            // Lost a race with eviction; drop the dead entry and try again
+            tagPool.remove(normalizedKey, entry);
+        }
+    }
+
+    private static Entry create(String name) {
+        misses.increment();
+        missesSinceSweep.incrementAndGet();
+        return new Entry(register(name));
+    }
+
+    private static boolean evict(Entry entry) {
+        if (!entry.tryKill()) {
+            return false;
+        }
+        tagPool.remove(entry.tag.getName(), entry);
+        unregister(entry.tag);
+        return true;
+    }
+
+    private static Tag register(String name) {
+        synchronized (idLock) {
+            Tag tag = new Tag(name, freeIds.size() > ID_REUSE_DELAY ? freeIds.poll() : nextId++);
+            AtomicReferenceArray<Tag> table = tagsById;
+            if (tag.getId() >= table.length()) {
+                AtomicReferenceArray<Tag> grown = new AtomicReferenceArray<>(table.length() * 2);
+                for (int i = 0; i < table.length(); i++) {
+                    grown.set(i, table.get(i));
+                }
+                table = grown;
+            }
+            table.set(tag.getId(), tag);
+            tagsById = table;
+            return tag;
+        }
+    }
+
+    private static void unregister(Tag tag) {
+        synchronized (idLock) {
+            tagsById.set(tag.getId(), null);
+            freeIds.add(tag.getId());
+        }
+        evictions.increment();
     }
 }
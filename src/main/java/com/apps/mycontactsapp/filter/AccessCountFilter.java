@@ -29,4 +29,14 @@ public class AccessCountFilter implements ContactFilter {
     public boolean test(Contact contact) {
         return contact.getAccessCount() >= minCount;
     }
+
+    /**
+     * Returns a readable form of the filter criteria.
+     * 
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        return "accessCount >= " + minCount;
+    }
 }
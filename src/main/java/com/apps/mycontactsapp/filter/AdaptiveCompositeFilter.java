@@ -0,0 +1,168 @@
+package com.apps.mycontactsapp.filter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.apps.mycontactsapp.model.Contact;
+
+/**
+ * N-ary AND/OR filter that reorders its children from runtime statistics.
+ *
+ * One evaluation in every {@value #SAMPLE_INTERVAL} is a sample: it runs every
+ * child without short-circuiting and records each child's time and pass rate.
+ * Every {@value #REPLAN_INTERVAL} evaluations the children are re-sorted so
+ * that, for ALL, the cheapest filter per rejected contact runs first, and for
+ * ANY, the cheapest filter per accepted contact runs first. Statistics decay
+ * at each re-plan, so the order follows shifts in the data.
+ *
+ * Child filters must be side-effect free. Statistics are updated without
+ * locking and may be slightly off under concurrent use; that only affects the
+ * evaluation order, never the result.
+ */
+public class AdaptiveCompositeFilter implements ContactFilter {
+
+    /**
+     * How the children's results are combined.
+     */
+    public enum Mode {
+        ALL,
+        ANY
+    }
+
+    private static final int SAMPLE_INTERVAL = 16;
+    private static final int REPLAN_INTERVAL = 1024;
+    private static final double DECAY = 0.5;
+
+    private final Mode mode;
+    private volatile Child[] order;
+    private long evaluations;
+
+    /**
+     * Per-child statistics, gathered on sampled evaluations only.
+     */
+    private static final class Child {
+        private final ContactFilter filter;
+        private double samples;
+        private double passes;
+        private double nanos;
+
+        private Child(ContactFilter filter) {
+            this.filter = filter;
+        }
+
+        private double rank(Mode mode) {
+            if (samples == 0) {
+                return 0;
+            }
+            double cost = Math.max(1.0, nanos / samples);
+            double passRate = passes / samples;
+            double decisive = mode == Mode.ALL ? 1.0 - passRate : passRate;
+            return cost / Math.max(0.01, decisive);
+        }
+    }
+
+    /**
+     * Constructs a new AdaptiveCompositeFilter.
+     *
+     * @param mode     whether all or any children must pass.
+     * @param children the child filters, in their initial order.
+     */
+    public AdaptiveCompositeFilter(Mode mode, List<ContactFilter> children) {
+        this.mode = mode;
+        this.order = children.stream().map(Child::new).toArray(Child[]::new);
+    }
+
+    /**
+     * Tests the contact against the children in the current order,
+     * short-circuiting on the first decisive result except when sampling.
+     *
+     * @param contact the contact to test.
+     * @return true if all (ALL) or any (ANY) children pass.
+     */
+    @Override
+    public boolean test(Contact contact) {
+        Child[] current = order;
+        long n = ++evaluations;
+        boolean result = n % SAMPLE_INTERVAL == 0 ? sample(current, contact) : evaluate(current, contact);
+        if (n % REPLAN_INTERVAL == 0) {
+            replan(current);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the child filters in their current evaluation order.
+     *
+     * @return the children.
+     */
+    public List<ContactFilter> getChildren() {
+        return Arrays.stream(order).map(child -> child.filter).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets how the children's results are combined.
+     *
+     * @return the mode.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    private boolean evaluate(Child[] current, Contact contact) {
+        boolean any = mode == Mode.ANY;
+        for (Child child : current) {
+            if (child.filter.test(contact) == any) {
+                return any;
+            }
+        }
+        return !any;
+    }
+
+    private boolean sample(Child[] current, Contact contact) {
+        boolean all = true;
+        boolean any = false;
+        for (Child child : current) {
+            long start = System.nanoTime();
+            boolean passed = child.filter.test(contact);
+            child.nanos += System.nanoTime() - start;
+            child.samples++;
+            if (passed) {
+                child.passes++;
+            }
+            all &= passed;
+            any |= passed;
+        }
+        return mode == Mode.ALL ? all : any;
+    }
+
+    private void replan(Child[] current) {
+        Child[] next = current.clone();
+        Arrays.sort(next, Comparator.comparingDouble(child -> child.rank(mode)));
+        for (Child child : next) {
+            child.samples *= DECAY;
+            child.passes *= DECAY;
+            child.nanos *= DECAY;
+        }
+        order = next;
+    }
+
+    /**
+     * Returns the current evaluation order.
+     *
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(mode.name()).append('[');
+        Child[] current = order;
+        for (int i = 0; i < current.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(current[i].filter);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -30,4 +30,22 @@ public class AndFilter implements ContactFilter {
     public boolean test(Contact contact) {
         return first.test(contact) && second.test(contact);
     }
+
+    /**
+     * Gets the first filter.
+     * 
+     * @return the first filter.
+     */
+    public ContactFilter getFirst() {
+        return first;
+    }
+
+    /**
+     * Gets the second filter.
+     * 
+     * @return the second filter.
+     */
+    public ContactFilter getSecond() {
+        return second;
+    }
 }
@@ -31,4 +31,14 @@ public class DateAddedFilter implements ContactFilter {
         }
         return contact.getCreatedAt().isAfter(since) || contact.getCreatedAt().isEqual(since);
     }
+
+    /**
+     * Returns a readable form of the filter criteria.
+     * 
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        return "added since " + since;
+    }
 }
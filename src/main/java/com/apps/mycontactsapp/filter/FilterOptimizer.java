@@ -0,0 +1,56 @@
+package com.apps.mycontactsapp.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites composite filter chains into self-tuning form.
+ *
+ * Nested {@link AndFilter} and {@link OrFilter} trees are flattened into n-ary
+ * {@link AdaptiveCompositeFilter} nodes, which reorder their children from
+ * measured cost and pass rate while the filter runs.
+ */
+public class FilterOptimizer {
+
+    private FilterOptimizer() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Optimizes a filter tree. Leaf filters are returned unchanged.
+     *
+     * @param filter the filter to optimize, may be null.
+     * @return an equivalent filter, or null if the input was null.
+     */
+    public static ContactFilter optimize(ContactFilter filter) {
+        if (filter instanceof AndFilter) {
+            List<ContactFilter> children = new ArrayList<>();
+            flattenAnd(filter, children);
+            return new AdaptiveCompositeFilter(AdaptiveCompositeFilter.Mode.ALL, children);
+        }
+        if (filter instanceof OrFilter) {
+            List<ContactFilter> children = new ArrayList<>();
+            flattenOr(filter, children);
+            return new AdaptiveCompositeFilter(AdaptiveCompositeFilter.Mode.ANY, children);
+        }
+        return filter;
+    }
+
+    private static void flattenAnd(ContactFilter filter, List<ContactFilter> out) {
+        if (filter instanceof AndFilter) {
+            flattenAnd(((AndFilter) filter).getFirst(), out);
+            flattenAnd(((AndFilter) filter).getSecond(), out);
+        } else {
+            out.add(optimize(filter));
+        }
+    }
+
+    private static void flattenOr(ContactFilter filter, List<ContactFilter> out) {
+        if (filter instanceof OrFilter) {
+            flattenOr(((OrFilter) filter).getFirst(), out);
+            flattenOr(((OrFilter) filter).getSecond(), out);
+        } else {
+            out.add(optimize(filter));
+        }
+    }
+}
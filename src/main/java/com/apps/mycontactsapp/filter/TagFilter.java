@@ -1,12 +1,16 @@
 package com.apps.mycontactsapp.filter;
 
+import java.util.function.Predicate;
+
 import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.Tag;
 
 /**
  * Filter strategy to check if a contact has a specific tag.
  */
 public class TagFilter implements ContactFilter {
     private final String tag;
+    private final Predicate<Tag> matches;
 
     /**
      * Constructs a new TagFilter.
@@ -15,6 +19,7 @@ public class TagFilter implements ContactFilter {
      */
     public TagFilter(String tag) {
         this.tag = tag;
+        this.matches = t -> t.getName().equalsIgnoreCase(tag);
     }
 
     /**
@@ -28,7 +33,16 @@ public class TagFilter implements ContactFilter {
         if (tag == null || tag.trim().isEmpty()) {
             return true;
         }
-        return contact.getTags().stream()
-                .anyMatch(t -> t.equalsIgnoreCase(tag));
+        return contact.anyTagMatches(matches);
+    }
+
+    /**
+     * Returns a readable form of the filter criteria.
+     * 
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        return "tag = " + tag;
     }
 }
@@ -0,0 +1,157 @@
+package com.apps.mycontactsapp.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.apps.mycontactsapp.model.Contact;
+
+/**
+ * Ranking of contacts by access count, per owner and globally.
+ *
+ * Contacts are grouped into buckets of equal access count kept in descending
+ * order. An access bumps a contact into the neighbouring bucket, and empty
+ * buckets are dropped, so a top-K query walks at most K buckets and costs
+ * O(K) after the first lookup. Queries share a read lock, so they only wait
+ * for writers.
+ */
+public class AccessFrequencyIndex implements ContactIndex {
+
+    private static final class Ranking {
+        private final TreeMap<Integer, Set<UUID>> byCount = new TreeMap<>();
+
+        private void add(int count, UUID id) {
+            byCount.computeIfAbsent(count, c -> new LinkedHashSet<>()).add(id);
+        }
+
+        private void remove(int count, UUID id) {
+            Set<UUID> bucket = byCount.get(count);
+            if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+                byCount.remove(count);
+            }
+        }
+
+        private boolean isEmpty() {
+            return byCount.isEmpty();
+        }
+    }
+
+    private final IndexedContacts contacts;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> indexedCounts = new HashMap<>();
+    private final Map<UUID, Long> indexedOwners = new HashMap<>();
+    private final Map<Long, Ranking> byOwner = new HashMap<>();
+    private final Ranking global = new Ranking();
+
+    /**
+     * Creates an empty ranking.
+     *
+     * @param contacts the shared map to resolve contact ids through.
+     */
+    public AccessFrequencyIndex(IndexedContacts contacts) {
+        this.contacts = contacts;
+    }
+
+    /**
+     * Indexes a contact's access count, moving it to its new bucket if the
+     * count or owner changed.
+     *
+     * @param contact the contact to index.
+     */
+    @Override
+    public void put(Contact contact) {
+        UUID id = contact.getId();
+        int count = contact.getAccessCount();
+        Long owner = contact.getUserId();
+        lock.writeLock().lock();
+        try {
+            Integer previousCount = indexedCounts.put(id, count);
+            Long previousOwner = indexedOwners.put(id, owner);
+            if (previousCount != null) {
+                if (previousCount == count && Objects.equals(previousOwner, owner)) {
+                    return;
+                }
+                unlink(id, previousCount, previousOwner);
+            }
+            global.add(count, id);
+            if (owner != null) {
+                byOwner.computeIfAbsent(owner, o -> new Ranking()).add(count, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a contact from the ranking.
+     *
+     * @param contact the contact to remove.
+     */
+    @Override
+    public void remove(Contact contact) {
+        UUID id = contact.getId();
+        lock.writeLock().lock();
+        try {
+            Integer previousCount = indexedCounts.remove(id);
+            Long previousOwner = indexedOwners.remove(id);
+            if (previousCount != null) {
+                unlink(id, previousCount, previousOwner);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the most frequently accessed contacts, highest count first.
+     *
+     * @param userId the owner to rank, or null to rank all contacts.
+     * @param k      the maximum number of contacts to return.
+     * @return up to k contacts.
+     */
+    public List<Contact> top(Long userId, int k) {
+        lock.readLock().lock();
+        try {
+            Ranking ranking = userId == null ? global : byOwner.get(userId);
+            List<Contact> result = new ArrayList<>(Math.max(0, Math.min(k, indexedCounts.size())));
+            if (ranking == null || k <= 0) {
+                return result;
+            }
+            for (Set<UUID> bucket : ranking.byCount.descendingMap().values()) {
+                for (UUID id : bucket) {
+                    Contact contact = contacts.get(id);
+                    if (contact != null) {
+                        result.add(contact);
+                    }
+                    if (result.size() == k) {
+                        return result;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(UUID id, int count, Long owner) {
+        global.remove(count, id);
+        if (owner != null) {
+            Ranking ranking = byOwner.get(owner);
+            if (ranking != null) {
+                ranking.remove(count, id);
+                if (ranking.isEmpty()) {
+                    byOwner.remove(owner);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.apps.mycontactsapp.index;
+
+import java.util.Collection;
+
+import com.apps.mycontactsapp.model.Contact;
+
+/**
+ * A secondary index over contacts, kept up to date by the repository layer.
+ *
+ * Contacts are mutable and are usually edited in place before being saved, so
+ * implementations must remember what they indexed for each contact rather than
+ * relying on the caller to supply the previous state.
+ */
+public interface ContactIndex {
+
+    /**
+     * Indexes a contact, replacing whatever was indexed for it before.
+     *
+     * @param contact the contact to index.
+     */
+    void put(Contact contact);
+
+    /**
+     * Indexes a batch of contacts. Defaults to {@link #put(Contact)} per
+     * contact; implementations can take their lock once for the whole batch.
+     *
+     * @param contacts the contacts to index.
+     */
+    default void putAll(Collection<Contact> contacts) {
+        for (Contact contact : contacts) {
+            put(contact);
+        }
+    }
+
+    /**
+     * Removes a contact from the index.
+     *
+     * @param contact the contact to remove.
+     */
+    void remove(Contact contact);
+}
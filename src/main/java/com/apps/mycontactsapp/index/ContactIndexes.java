@@ -0,0 +1,98 @@
+package com.apps.mycontactsapp.index;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import com.apps.mycontactsapp.model.Contact;
+
+/**
+ * Registry of the secondary indexes maintained for a contact repository.
+ * Writes fan out to every registered index; readers look an index up by type.
+ * The indexes share one {@link IndexedContacts} map to resolve the ids they
+ * store back to contacts.
+ */
+public class ContactIndexes {
+    private final List<ContactIndex> indexes = new CopyOnWriteArrayList<>();
+    private final IndexedContacts contacts = new IndexedContacts();
+
+    /**
+     * Gets the shared map the registered indexes resolve contact ids through.
+     * Pass it to an index when constructing it.
+     *
+     * @return the indexed contacts.
+     */
+    public IndexedContacts contacts() {
+        return contacts;
+    }
+
+    /**
+     * Registers an index, seeding it with the contacts already stored.
+     *
+     * @param index    the index to register, built over {@link #contacts()}.
+     * @param existing the contacts already stored.
+     */
+    public void register(ContactIndex index, Stream<Contact> existing) {
+        existing.forEach(contact -> {
+            contacts.put(contact);
+            index.put(contact);
+        });
+        indexes.add(index);
+    }
+
+    /**
+     * Finds a registered index by type.
+     *
+     * @param type the index class.
+     * @param <T>  the index type.
+     * @return an Optional containing the first index of that type.
+     */
+    public <T extends ContactIndex> Optional<T> get(Class<T> type) {
+        for (ContactIndex index : indexes) {
+            if (type.isInstance(index)) {
+                return Optional.of(type.cast(index));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Indexes or re-indexes a contact in every registered index.
+     *
+     * @param contact the contact.
+     */
+    public void put(Contact contact) {
+        contacts.put(contact);
+        for (ContactIndex index : indexes) {
+            index.put(contact);
+        }
+    }
+
+    /**
+     * Indexes or re-indexes a batch of contacts, one index at a time.
+     *
+     * @param contacts the contacts.
+     */
+    public void putAll(Collection<Contact> contacts) {
+        for (Contact contact : contacts) {
+            this.contacts.put(contact);
+        }
+        for (ContactIndex index : indexes) {
+            index.putAll(contacts);
+        }
+    }
+
+    /**
+     * Removes a contact from every registered index.
+     *
+     * @param contact the contact.
+     */
+    public void remove(Contact contact) {
+        for (ContactIndex index : indexes) {
+            index.remove(contact);
+        }
+        contacts.remove(contact);
+    }
+}
@@ -0,0 +1,199 @@
+package com.apps.mycontactsapp.index;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.EmailAddress;
+
+/**
+ * Index over contact email addresses, split at the '@'.
+ *
+ * Domains are stored with their labels reversed ("mail.acme.com" becomes
+ * "com.acme.mail") in a sorted map, so a domain and all of its subdomains form
+ * one contiguous key range. Local parts are stored in a second sorted map for
+ * prefix range lookups. Everything is lower-cased. Lookups share a read lock,
+ * so they only wait for writers.
+ */
+public class EmailAddressIndex implements ContactIndex {
+
+    private final IndexedContacts contacts;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Set<UUID>> byReversedDomain = new TreeMap<>();
+    private final TreeMap<String, Set<UUID>> byLocalPart = new TreeMap<>();
+    private final Map<UUID, Set<EmailKey>> indexedEmails = new HashMap<>();
+
+    /**
+     * An address as it is stored in the index.
+     */
+    private static final class EmailKey {
+        private final String localPart;
+        private final String reversedDomain;
+
+        private EmailKey(EmailAddress email) {
+            this.localPart = email.getLocalPart();
+            this.reversedDomain = reverseDomain(email.getDomain());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof EmailKey))
+                return false;
+            EmailKey that = (EmailKey) o;
+            return localPart.equals(that.localPart) && reversedDomain.equals(that.reversedDomain);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * localPart.hashCode() + reversedDomain.hashCode();
+        }
+    }
+
+    /**
+     * Creates an empty index.
+     *
+     * @param contacts the shared map to resolve contact ids through.
+     */
+    public EmailAddressIndex(IndexedContacts contacts) {
+        this.contacts = contacts;
+    }
+
+    /**
+     * Indexes a contact's email addresses, replacing those indexed before.
+     *
+     * @param contact the contact to index.
+     */
+    @Override
+    public void put(Contact contact) {
+        UUID id = contact.getId();
+        Set<EmailKey> keys = new HashSet<>();
+        for (EmailAddress email : contact.getEmailAddressesView()) {
+            keys.add(new EmailKey(email));
+        }
+        lock.writeLock().lock();
+        try {
+            Set<EmailKey> previous = keys.isEmpty() ? indexedEmails.remove(id) : indexedEmails.put(id, keys);
+            if (keys.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                for (EmailKey key : previous) {
+                    unlink(id, key);
+                }
+            }
+            for (EmailKey key : keys) {
+                byLocalPart.computeIfAbsent(key.localPart, k -> new HashSet<>()).add(id);
+                byReversedDomain.computeIfAbsent(key.reversedDomain, k -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a contact from the index.
+     *
+     * @param contact the contact to remove.
+     */
+    @Override
+    public void remove(Contact contact) {
+        UUID id = contact.getId();
+        lock.writeLock().lock();
+        try {
+            Set<EmailKey> previous = indexedEmails.remove(id);
+            if (previous != null) {
+                for (EmailKey key : previous) {
+                    unlink(id, key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the contacts with an address in the given domain or one of its
+     * subdomains.
+     *
+     * @param domain the lower-cased domain, without '@'.
+     * @return the matching contacts, or null if the domain has empty labels
+     *         and cannot be looked up.
+     */
+    public Collection<Contact> inDomain(String domain) {
+        if (domain.isEmpty() || domain.startsWith(".") || domain.endsWith(".") || domain.contains("..")) {
+            return null;
+        }
+        String reversed = reverseDomain(domain);
+        String subdomains = reversed + ".";
+        lock.readLock().lock();
+        try {
+            Set<UUID> ids = new LinkedHashSet<>();
+            Set<UUID> exact = byReversedDomain.get(reversed);
+            if (exact != null) {
+                ids.addAll(exact);
+            }
+            for (Set<UUID> posting : byReversedDomain
+                    .subMap(subdomains, true, subdomains + Character.MAX_VALUE, false).values()) {
+                ids.addAll(posting);
+            }
+            return contacts.resolve(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the contacts with an address whose local part starts with the given
+     * prefix.
+     *
+     * @param prefix the lower-cased local-part prefix.
+     * @return the matching contacts.
+     */
+    public Collection<Contact> withLocalPartPrefix(String prefix) {
+        lock.readLock().lock();
+        try {
+            Set<UUID> ids = new LinkedHashSet<>();
+            for (Set<UUID> posting : byLocalPart.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                    .values()) {
+                ids.addAll(posting);
+            }
+            return contacts.resolve(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(UUID id, EmailKey key) {
+        unlink(byLocalPart, key.localPart, id);
+        unlink(byReversedDomain, key.reversedDomain, id);
+    }
+
+    private static void unlink(Map<String, Set<UUID>> map, String key, UUID id) {
+        Set<UUID> ids = map.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private static String reverseDomain(String domain) {
+        String[] labels = domain.split("\\.");
+        StringBuilder reversed = new StringBuilder(domain.length());
+        for (int i = labels.length - 1; i >= 0; i--) {
+            reversed.append(labels[i]);
+            if (i > 0) {
+                reversed.append('.');
+            }
+        }
+        return reversed.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.apps.mycontactsapp.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.apps.mycontactsapp.model.Contact;
+
+/**
+ * The contacts known to a set of indexes, by id.
+ *
+ * Indexes store ids and resolve them here when answering a query, so each
+ * contact is referenced from one map rather than one per index. The map is
+ * concurrent and lookups take no lock. {@link ContactIndexes} adds a contact
+ * before any index sees it and drops it only after every index has, so an id
+ * found in an index always resolves.
+ */
+public class IndexedContacts {
+    private final Map<UUID, Contact> contacts = new ConcurrentHashMap<>();
+
+    /**
+     * Looks a contact up by id.
+     *
+     * @param id the contact id.
+     * @return the contact, or null if it is not indexed.
+     */
+    public Contact get(UUID id) {
+        return contacts.get(id);
+    }
+
+    /**
+     * Resolves a collection of ids, skipping any no longer indexed.
+     *
+     * @param ids the contact ids.
+     * @return the contacts, in the order of the ids.
+     */
+    public List<Contact> resolve(Collection<UUID> ids) {
+        List<Contact> result = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Contact contact = contacts.get(id);
+            if (contact != null) {
+                result.add(contact);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of indexed contacts.
+     *
+     * @return the contact count.
+     */
+    public int size() {
+        return contacts.size();
+    }
+
+    void put(Contact contact) {
+        contacts.put(contact.getId(), contact);
+    }
+
+    void remove(Contact contact) {
+        contacts.remove(contact.getId());
+    }
+}
@@ -0,0 +1,169 @@
+package com.apps.mycontactsapp.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.apps.mycontactsapp.model.Contact;
+
+/**
+ * Inverted trigram index over lower-cased display names.
+ *
+ * Every three-character window of a name maps to the set of contacts whose
+ * name contains it. A substring query of three or more characters can only
+ * match contacts present in the posting list of each of its own trigrams, so
+ * intersecting those lists (smallest first) yields a small candidate set that
+ * the caller then verifies with the real predicate. Queries share a read
+ * lock, so they only wait for writers.
+ */
+public class NameTrigramIndex implements ContactIndex {
+    private static final int GRAM = 3;
+
+    private final IndexedContacts contacts;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<UUID>> postings = new HashMap<>();
+    private final Map<UUID, String> indexedKeys = new HashMap<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param contacts the shared map to resolve contact ids through.
+     */
+    public NameTrigramIndex(IndexedContacts contacts) {
+        this.contacts = contacts;
+    }
+
+    /**
+     * Indexes a contact's display name. Re-indexing an unchanged name does
+     * nothing.
+     *
+     * @param contact the contact to index.
+     */
+    @Override
+    public void put(Contact contact) {
+        UUID id = contact.getId();
+        String key = foldedKey(contact.getDisplayName());
+        lock.writeLock().lock();
+        try {
+            String previous = indexedKeys.put(id, key);
+            if (key.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            for (String gram : trigrams(key)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a contact from the index.
+     *
+     * @param contact the contact to remove.
+     */
+    @Override
+    public void remove(Contact contact) {
+        UUID id = contact.getId();
+        lock.writeLock().lock();
+        try {
+            String previous = indexedKeys.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the contacts whose name may contain the given text.
+     * Every contact whose lower-cased name contains the lower-cased query is
+     * returned, possibly along with false positives.
+     *
+     * @param namePart the substring to search for.
+     * @return the candidate contacts, or null if the query is blank (which
+     *         matches every contact) or too short to use the index.
+     */
+    public Collection<Contact> candidates(String namePart) {
+        if (namePart == null || namePart.trim().isEmpty()) {
+            return null;
+        }
+        String query = foldedKey(namePart);
+        if (query.length() < GRAM) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            List<Set<UUID>> lists = new ArrayList<>();
+            for (String gram : trigrams(query)) {
+                Set<UUID> ids = postings.get(gram);
+                if (ids == null) {
+                    return new ArrayList<>();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            List<UUID> result = new ArrayList<>();
+            Set<UUID> smallest = lists.get(0);
+            outer: for (UUID id : smallest) {
+                for (int i = 1; i < lists.size(); i++) {
+                    if (!lists.get(i).contains(id)) {
+                        continue outer;
+                    }
+                }
+                result.add(id);
+            }
+            return contacts.resolve(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed contacts.
+     *
+     * @return the contact count.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexedKeys.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(UUID id, String key) {
+        for (String gram : trigrams(key)) {
+            Set<UUID> ids = postings.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static String foldedKey(String name) {
+        return name == null ? "" : name.toLowerCase();
+    }
+
+    private static Set<String> trigrams(String key) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,131 @@
+package com.apps.mycontactsapp.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.apps.mycontactsapp.model.Contact;
+
+/**
+ * Secondary index from owner (userId) to that owner's contacts.
+ *
+ * Each owner has two partitions, active and inactive, so listing only active
+ * contacts never touches soft-deleted ones. The index is safe for concurrent
+ * use; callers that need per-contact atomicity between the primary store and
+ * this index must update both under the same lock.
+ */
+public class OwnerIndex {
+
+    private static final class Partitions {
+        private final Map<UUID, Contact> active = new ConcurrentHashMap<>();
+        private final Map<UUID, Contact> inactive = new ConcurrentHashMap<>();
+
+        private boolean isEmpty() {
+            return active.isEmpty() && inactive.isEmpty();
+        }
+    }
+
+    private final Map<Long, Partitions> byOwner = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes a contact, moving it to the partition matching its active flag.
+     *
+     * @param contact the contact to index.
+     */
+    public void put(Contact contact) {
+        if (contact.getUserId() == null) {
+            return;
+        }
+        byOwner.compute(contact.getUserId(), (userId, partitions) -> {
+            Partitions target = partitions != null ? partitions : new Partitions();
+            if (contact.isActive()) {
+                target.inactive.remove(contact.getId());
+                target.active.put(contact.getId(), contact);
+            } else {
+                target.active.remove(contact.getId());
+                target.inactive.put(contact.getId(), contact);
+            }
+            return target;
+        });
+    }
+
+    /**
+     * Removes a contact from the index.
+     *
+     * @param contact the contact to remove.
+     */
+    public void remove(Contact contact) {
+        if (contact.getUserId() == null) {
+            return;
+        }
+        byOwner.computeIfPresent(contact.getUserId(), (userId, partitions) -> {
+            partitions.active.remove(contact.getId());
+            partitions.inactive.remove(contact.getId());
+            return partitions.isEmpty() ? null : partitions;
+        });
+    }
+
+    /**
+     * Finds the contacts of an owner.
+     * The active partition is re-checked against each contact's flag, since a
+     * contact may have been soft-deleted in place without being saved again.
+     *
+     * @param userId          the owner's user ID.
+     * @param includeInactive whether to include the inactive partition.
+     * @return a new list of the owner's contacts.
+     */
+    public List<Contact> find(Long userId, boolean includeInactive) {
+        Partitions partitions = userId == null ? null : byOwner.get(userId);
+        if (partitions == null) {
+            return new ArrayList<>();
+        }
+        List<Contact> result = new ArrayList<>(
+                partitions.active.size() + (includeInactive ? partitions.inactive.size() : 0));
+        for (Contact contact : partitions.active.values()) {
+            if (includeInactive || contact.isActive()) {
+                result.add(contact);
+            }
+        }
+        if (includeInactive) {
+            result.addAll(partitions.inactive.values());
+        }
+        return result;
+    }
+
+    /**
+     * Streams the contacts of an owner lazily, without copying the partitions.
+     *
+     * @param userId          the owner's user ID.
+     * @param includeInactive whether to include the inactive partition.
+     * @return a stream of the owner's contacts.
+     */
+    public Stream<Contact> stream(Long userId, boolean includeInactive) {
+        Partitions partitions = userId == null ? null : byOwner.get(userId);
+        if (partitions == null) {
+            return Stream.empty();
+        }
+        Stream<Contact> active = partitions.active.values().stream().filter(c -> includeInactive || c.isActive());
+        return includeInactive ? Stream.concat(active, partitions.inactive.values().stream()) : active;
+    }
+
+    /**
+     * Removes every contact of an owner from the index.
+     *
+     * @param userId the owner's user ID.
+     * @return the contacts that were indexed for the owner.
+     */
+    public Collection<Contact> removeOwner(Long userId) {
+        Partitions partitions = userId == null ? null : byOwner.remove(userId);
+        if (partitions == null) {
+            return Collections.emptyList();
+        }
+        List<Contact> removed = new ArrayList<>(partitions.active.values());
+        removed.addAll(partitions.inactive.values());
+        return removed;
+    }
+}
@@ -0,0 +1,196 @@
+package com.apps.mycontactsapp.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.PhoneNumber;
+
+/**
+ * Index over contact phone numbers.
+ *
+ * Numbers are kept in a sorted map for exact and prefix lookups, and reversed
+ * in a second sorted map so that suffix lookups ("...5512") become prefix
+ * range scans as well. Each lookup costs O(log n + matches). Substring
+ * lookups walk the distinct numbers only, never the contacts. Lookups share
+ * a read lock, so they only wait for writers.
+ */
+public class PhoneNumberIndex implements ContactIndex {
+
+    private final IndexedContacts contacts;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Set<UUID>> byNumber = new TreeMap<>();
+    private final TreeMap<String, Set<UUID>> byReversed = new TreeMap<>();
+    private final Map<UUID, Set<String>> indexedNumbers = new HashMap<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param contacts the shared map to resolve contact ids through.
+     */
+    public PhoneNumberIndex(IndexedContacts contacts) {
+        this.contacts = contacts;
+    }
+
+    /**
+     * Indexes a contact's phone numbers, replacing those indexed before.
+     *
+     * @param contact the contact to index.
+     */
+    @Override
+    public void put(Contact contact) {
+        UUID id = contact.getId();
+        Set<String> numbers = new HashSet<>();
+        for (PhoneNumber phone : contact.getPhoneNumbersView()) {
+            if (phone.getNumber() != null) {
+                numbers.add(phone.getNumber());
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            Set<String> previous = numbers.isEmpty() ? indexedNumbers.remove(id) : indexedNumbers.put(id, numbers);
+            if (numbers.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                for (String number : previous) {
+                    if (!numbers.contains(number)) {
+                        unlink(byNumber, number, id);
+                        unlink(byReversed, reverse(number), id);
+                    }
+                }
+            }
+            for (String number : numbers) {
+                if (previous == null || !previous.contains(number)) {
+                    byNumber.computeIfAbsent(number, n -> new HashSet<>()).add(id);
+                    byReversed.computeIfAbsent(reverse(number), n -> new HashSet<>()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a contact from the index.
+     *
+     * @param contact the contact to remove.
+     */
+    @Override
+    public void remove(Contact contact) {
+        UUID id = contact.getId();
+        lock.writeLock().lock();
+        try {
+            Set<String> previous = indexedNumbers.remove(id);
+            if (previous != null) {
+                for (String number : previous) {
+                    unlink(byNumber, number, id);
+                    unlink(byReversed, reverse(number), id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the contacts with exactly this phone number.
+     *
+     * @param number the phone number.
+     * @return the matching contacts.
+     */
+    public Collection<Contact> equalTo(String number) {
+        lock.readLock().lock();
+        try {
+            Set<UUID> ids = byNumber.get(number);
+            return ids == null ? new ArrayList<>() : contacts.resolve(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the contacts with a phone number starting with the given digits.
+     *
+     * @param prefix the leading digits.
+     * @return the matching contacts.
+     */
+    public Collection<Contact> startingWith(String prefix) {
+        lock.readLock().lock();
+        try {
+            return collect(prefixRange(byNumber, prefix));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the contacts with a phone number ending with the given digits.
+     *
+     * @param suffix the trailing digits.
+     * @return the matching contacts.
+     */
+    public Collection<Contact> endingWith(String suffix) {
+        lock.readLock().lock();
+        try {
+            return collect(prefixRange(byReversed, reverse(suffix)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the contacts with a phone number containing the given digits.
+     * Scans each distinct number once.
+     *
+     * @param part the digits to search for.
+     * @return the matching contacts.
+     */
+    public Collection<Contact> containing(String part) {
+        lock.readLock().lock();
+        try {
+            Set<UUID> ids = new LinkedHashSet<>();
+            for (Map.Entry<String, Set<UUID>> entry : byNumber.entrySet()) {
+                if (entry.getKey().contains(part)) {
+                    ids.addAll(entry.getValue());
+                }
+            }
+            return contacts.resolve(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Contact> collect(NavigableMap<String, Set<UUID>> range) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (Set<UUID> posting : range.values()) {
+            ids.addAll(posting);
+        }
+        return contacts.resolve(ids);
+    }
+
+    private static NavigableMap<String, Set<UUID>> prefixRange(TreeMap<String, Set<UUID>> map, String prefix) {
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static void unlink(Map<String, Set<UUID>> map, String key, UUID id) {
+        Set<UUID> ids = map.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private static String reverse(String number) {
+        return new StringBuilder(number).reverse().toString();
+    }
+}
@@ -0,0 +1,341 @@
+package com.apps.mycontactsapp.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.specification.Specification;
+
+/**
+ * Per-user cache of search results, keyed by value-comparable specifications
+ * (see {@link Specification#isCacheable()}).
+ *
+ * A cached result is every contact in a scope, one owner or all owners, that
+ * satisfies the specification. The cache is registered as a
+ * {@link ContactIndex} so it sees every write. A write only records the
+ * contact in the pending writes of its own owner scope and of the all-owners
+ * scope, in constant time; nothing is re-evaluated then. Each entry remembers
+ * how many of its scope's writes it has been checked against, and a lookup
+ * checks it against the newer ones only. It is dropped when a written contact
+ * was in its result and no longer matches, matches and was not in its
+ * result, or is now a different object. Entries the contact neither matched
+ * nor matches are kept, however often it changes. Once a scope has a bounded
+ * number of pending writes, all of its entries are checked at once and the
+ * pending writes are discarded.
+ *
+ * Each scope keeps a bounded number of entries and the cache a bounded number
+ * of scopes, both evicted least recently used first. The scope map and each
+ * scope have their own lock, so a write or lookup for one owner does not wait
+ * on another's.
+ */
+public class SearchResultCache implements ContactIndex {
+
+    /** Default number of cached searches per scope. */
+    public static final int DEFAULT_MAX_ENTRIES_PER_SCOPE = 64;
+
+    /** Default number of scopes (users) with cached searches. */
+    public static final int DEFAULT_MAX_SCOPES = 1024;
+
+    // Writes a scope keeps for lazy checks before it is cleared instead
+    private static final int MAX_PENDING_WRITES = 1024;
+
+    private static final class Write {
+        private final Contact contact;
+        private final boolean removed;
+
+        private Write(Contact contact, boolean removed) {
+            this.contact = contact;
+            this.removed = removed;
+        }
+    }
+
+    private static final class Entry {
+        private final List<Contact> result;
+        private final Map<UUID, Contact> byId;
+        // Number of scope writes this result has been checked against
+        private long checkedWrites;
+
+        private Entry(List<Contact> result, long checkedWrites) {
+            this.checkedWrites = checkedWrites;
+            this.result = List.copyOf(result);
+            this.byId = new HashMap<>(result.size() * 2);
+            for (Contact contact : result) {
+                byId.put(contact.getId(), contact);
+            }
+        }
+
+        // True if the written contact's current state leaves this result correct
+        private boolean unaffectedBy(Specification<Contact> spec, Write write) {
+            Contact cached = byId.get(write.contact.getId());
+            if (write.removed) {
+                return cached == null;
+            }
+            boolean matches = spec.isSatisfiedBy(write.contact);
+            return cached == null ? !matches : matches && cached == write.contact;
+        }
+    }
+
+    private final class Scope extends LinkedHashMap<Specification<Contact>, Entry> {
+        private static final long serialVersionUID = 1L;
+        // Total writes in scope, and those after firstPending not yet checked
+        // by every entry; guarded by the scope's own lock
+        private long writes;
+        private long firstPending;
+        private final List<Write> pending = new ArrayList<>();
+
+        private Scope() {
+            super(16, 0.75f, true);
+        }
+
+        private void record(Contact contact, boolean removed) {
+            writes++;
+            if (isEmpty()) {
+                // Nothing to check later
+                pending.clear();
+                firstPending = writes;
+                return;
+            }
+            pending.add(new Write(contact, removed));
+            if (pending.size() >= MAX_PENDING_WRITES) {
+                // Check every entry now, once per MAX_PENDING_WRITES writes,
+                // so the pending list can start over
+                entrySet().removeIf(entry -> {
+                    boolean stale = !catchUp(entry.getKey(), entry.getValue());
+                    if (stale) {
+                        invalidations.increment();
+                    }
+                    return stale;
+                });
+                pending.clear();
+                firstPending = writes;
+            }
+        }
+
+        // Checks an entry against the writes it has not seen; false if stale
+        private boolean catchUp(Specification<Contact> spec, Entry entry) {
+            if (entry.checkedWrites < firstPending) {
+                return false;
+            }
+            for (int i = (int) (entry.checkedWrites - firstPending); i < pending.size(); i++) {
+                if (!entry.unaffectedBy(spec, pending.get(i))) {
+                    return false;
+                }
+            }
+            entry.checkedWrites = writes;
+            return true;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Specification<Contact>, Entry> eldest) {
+            if (size() > maxEntriesPerScope) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final int maxEntriesPerScope;
+    private final int maxScopes;
+    // Scopes by owner ID, null for the all-owners scope, least recently used first
+    private final LinkedHashMap<Long, Scope> scopes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Creates a cache with the default bounds.
+     */
+    public SearchResultCache() {
+        this(DEFAULT_MAX_ENTRIES_PER_SCOPE, DEFAULT_MAX_SCOPES);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntriesPerScope the number of searches cached per scope.
+     * @param maxScopes          the number of scopes cached.
+     * @throws IllegalArgumentException if a bound is less than one.
+     */
+    public SearchResultCache(int maxEntriesPerScope, int maxScopes) {
+        if (maxEntriesPerScope < 1 || maxScopes < 1) {
+            throw new IllegalArgumentException("Cache bounds must be positive.");
+        }
+        this.maxEntriesPerScope = maxEntriesPerScope;
+        this.maxScopes = maxScopes;
+        this.scopes = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Scope> eldest) {
+                if (size() > SearchResultCache.this.maxScopes) {
+                    evictions.add(eldest.getValue().size());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached result of a search, running and caching it on a miss.
+     * Specifications that are not cacheable always run the search.
+     *
+     * @param ownerScope the owner whose contacts are searched, or null for all
+     *                   owners.
+     * @param spec       the search criteria.
+     * @param search     runs the search; must return every contact in scope
+     *                   satisfying spec.
+     * @return the result, immutable.
+     */
+    public List<Contact> computeIfAbsent(Long ownerScope, Specification<Contact> spec,
+            Supplier<List<Contact>> search) {
+        if (!spec.isCacheable()) {
+            return search.get();
+        }
+        Scope scope;
+        synchronized (this) {
+            scope = scopes.computeIfAbsent(ownerScope, owner -> new Scope());
+        }
+        long writes;
+        synchronized (scope) {
+            Entry cached = scope.get(spec);
+            if (cached != null) {
+                if (scope.catchUp(spec, cached)) {
+                    hits.increment();
+                    return cached.result;
+                }
+                scope.remove(spec);
+                invalidations.increment();
+            }
+            writes = scope.writes;
+        }
+        misses.increment();
+        // Writes that race the search are recorded after `writes` and checked
+        // on the next lookup, so the result can be cached regardless
+        Entry loaded = new Entry(search.get(), writes);
+        synchronized (scope) {
+            if (writes >= scope.firstPending) {
+                scope.put(spec, loaded);
+            }
+        }
+        return loaded.result;
+    }
+
+    /**
+     * Records a write for the entries of the contact's owner scope and of the
+     * all-owners scope to check on their next lookup.
+     *
+     * @param contact the written contact.
+     */
+    @Override
+    public void put(Contact contact) {
+        record(contact, false);
+    }
+
+    /**
+     * Records a removal for the entries of the contact's owner scope and of
+     * the all-owners scope to check on their next lookup.
+     *
+     * @param contact the removed contact.
+     */
+    @Override
+    public void remove(Contact contact) {
+        record(contact, true);
+    }
+
+    /**
+     * Drops every cached result.
+     */
+    public void clear() {
+        List<Scope> cleared;
+        synchronized (this) {
+            cleared = new ArrayList<>(scopes.values());
+            scopes.clear();
+        }
+        for (Scope scope : cleared) {
+            synchronized (scope) {
+                invalidations.add(scope.size());
+            }
+        }
+    }
+
+    /**
+     * Gets how many searches were answered from the cache.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets how many cacheable searches had to run.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets how many cached results were evicted to respect the bounds.
+     *
+     * @return the eviction count.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets how many cached results were dropped because a contact changed.
+     *
+     * @return the invalidation count.
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return the entry count.
+     */
+    public int size() {
+        List<Scope> current;
+        synchronized (this) {
+            current = new ArrayList<>(scopes.values());
+        }
+        int size = 0;
+        for (Scope scope : current) {
+            synchronized (scope) {
+                size += scope.size();
+            }
+        }
+        return size;
+    }
+
+    private void record(Contact contact, boolean removed) {
+        Scope owned;
+        Scope all;
+        synchronized (this) {
+            owned = contact.getUserId() == null ? null : scopes.get(contact.getUserId());
+            all = scopes.get(null);
+        }
+        for (Scope scope : new Scope[] { owned, all }) {
+            if (scope != null) {
+                synchronized (scope) {
+                    scope.record(contact, removed);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.apps.mycontactsapp.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.apps.mycontactsapp.comparator.ContactSortKey;
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.ContactSortOrder;
+
+/**
+ * Contacts kept pre-sorted by name and by creation time, per owner and
+ * globally.
+ *
+ * Each ordering is a tree keyed by {@link ContactSortKey}, so a sorted listing
+ * is an in-order traversal, a page is a tail traversal from the cursor in
+ * O(log n + pageSize), and "added since" is a head range of the creation tree.
+ * NAME_DESC is served by walking the name tree backwards. The keys a contact
+ * was indexed under are remembered, since contacts are renamed in place. Keys
+ * carry the contact id, which is resolved through the shared
+ * {@link IndexedContacts}. Listings share a read lock, so they only wait for
+ * writers.
+ */
+public class SortedContactIndex implements ContactIndex {
+
+    private static final class Trees {
+        private final TreeSet<ContactSortKey> byName = new TreeSet<>();
+        private final TreeSet<ContactSortKey> byCreatedAt = new TreeSet<>();
+
+        private void add(ContactSortKey nameKey, ContactSortKey createdKey) {
+            byName.add(nameKey);
+            byCreatedAt.add(createdKey);
+        }
+
+        private void remove(ContactSortKey nameKey, ContactSortKey createdKey) {
+            byName.remove(nameKey);
+            byCreatedAt.remove(createdKey);
+        }
+
+        private boolean isEmpty() {
+            return byName.isEmpty();
+        }
+    }
+
+    private final IndexedContacts contacts;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, ContactSortKey> indexedNameKeys = new HashMap<>();
+    private final Map<UUID, ContactSortKey> indexedCreatedKeys = new HashMap<>();
+    private final Map<UUID, Long> indexedOwners = new HashMap<>();
+    private final Map<Long, Trees> byOwner = new HashMap<>();
+    private final Trees global = new Trees();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param contacts the shared map to resolve contact ids through.
+     */
+    public SortedContactIndex(IndexedContacts contacts) {
+        this.contacts = contacts;
+    }
+
+    /**
+     * Indexes a contact, moving it within the trees if its name, creation
+     * time or owner changed.
+     *
+     * @param contact the contact to index.
+     */
+    @Override
+    public void put(Contact contact) {
+        UUID id = contact.getId();
+        ContactSortKey nameKey = ContactSortKey.of(ContactSortOrder.NAME_ASC, contact);
+        ContactSortKey createdKey = ContactSortKey.of(ContactSortOrder.RECENTLY_ADDED, contact);
+        Long owner = contact.getUserId();
+
+        lock.writeLock().lock();
+        try {
+            ContactSortKey previousNameKey = indexedNameKeys.put(id, nameKey);
+            ContactSortKey previousCreatedKey = indexedCreatedKeys.put(id, createdKey);
+            Long previousOwner = indexedOwners.put(id, owner);
+            if (previousNameKey != null) {
+                unlink(previousNameKey, previousCreatedKey, previousOwner);
+            }
+            global.add(nameKey, createdKey);
+            if (owner != null) {
+                byOwner.computeIfAbsent(owner, o -> new Trees()).add(nameKey, createdKey);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a contact from the trees.
+     *
+     * @param contact the contact to remove.
+     */
+    @Override
+    public void remove(Contact contact) {
+        UUID id = contact.getId();
+        lock.writeLock().lock();
+        try {
+            ContactSortKey previousNameKey = indexedNameKeys.remove(id);
+            ContactSortKey previousCreatedKey = indexedCreatedKeys.remove(id);
+            Long previousOwner = indexedOwners.remove(id);
+            if (previousNameKey != null) {
+                unlink(previousNameKey, previousCreatedKey, previousOwner);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets contacts in the given order, starting strictly after a cursor.
+     *
+     * @param userId the owner whose contacts to list, or null for all contacts.
+     * @param order  the sort order.
+     * @param after  the cursor, in the same order, or null to start at the
+     *               beginning.
+     * @param limit  the maximum number of contacts to return.
+     * @return up to limit contacts, in order.
+     * @throws IllegalArgumentException if the cursor belongs to another order.
+     */
+    public List<Contact> ordered(Long userId, ContactSortOrder order, ContactSortKey after, int limit) {
+        if (after != null && after.getOrder() != order) {
+            throw new IllegalArgumentException("Cursor does not match the sort order.");
+        }
+        lock.readLock().lock();
+        try {
+            Trees trees = userId == null ? global : byOwner.get(userId);
+            if (trees == null || limit <= 0) {
+                return new ArrayList<>();
+            }
+            NavigableSet<ContactSortKey> view;
+            ContactSortKey from = after;
+            switch (order) {
+                case RECENTLY_ADDED:
+                    view = trees.byCreatedAt;
+                    break;
+                case NAME_DESC:
+                    view = trees.byName.descendingSet();
+                    from = after == null ? null : after.withNameOrder(ContactSortOrder.NAME_ASC);
+                    break;
+                case NAME_ASC:
+                default:
+                    view = trees.byName;
+                    break;
+            }
+            if (from != null) {
+                view = view.tailSet(from, false);
+            }
+            return take(view, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the contacts created at or after the given instant, newest first.
+     *
+     * @param userId the owner whose contacts to list, or null for all contacts.
+     * @param since  the earliest creation time to include.
+     * @return the matching contacts.
+     */
+    public List<Contact> addedSince(Long userId, LocalDateTime since) {
+        ContactSortKey bound = ContactSortKey.recentlyAddedBound(since);
+        lock.readLock().lock();
+        try {
+            Trees trees = userId == null ? global : byOwner.get(userId);
+            if (trees == null) {
+                return new ArrayList<>();
+            }
+            return take(trees.byCreatedAt.headSet(bound, true), Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed contacts.
+     *
+     * @return the number of contacts.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexedNameKeys.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Contact> take(NavigableSet<ContactSortKey> view, int limit) {
+        List<Contact> result = new ArrayList<>();
+        for (ContactSortKey key : view) {
+            if (result.size() == limit) {
+                break;
+            }
+            Contact contact = contacts.get(key.getId());
+            if (contact != null) {
+                result.add(contact);
+            }
+        }
+        return result;
+    }
+
+    private void unlink(ContactSortKey nameKey, ContactSortKey createdKey, Long owner) {
+        global.remove(nameKey, createdKey);
+        if (owner != null) {
+            Trees trees = byOwner.get(owner);
+            if (trees != null) {
+                trees.remove(nameKey, createdKey);
+                if (trees.isEmpty()) {
+                    byOwner.remove(owner);
+                }
+            }
+        }
+    }
+}
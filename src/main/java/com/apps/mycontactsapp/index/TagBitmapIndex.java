@@ -0,0 +1,247 @@
+package com.apps.mycontactsapp.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import com.apps.mycontactsapp.factory.TagFactory;
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.Tag;
+import com.apps.mycontactsapp.util.SortedIntArrays;
+
+/**
+ * Tag posting lists stored as compressed bitmaps.
+ *
+ * Each indexed contact gets a dense ordinal (reused after removal), and each
+ * flyweight tag id maps to the bitmap of ordinals carrying that tag. Queries
+ * such as "tagged X and Y but not Z" then run as bitmap intersections and
+ * differences instead of per-contact set building. Tag names are matched
+ * case-insensitively, so a query name may cover several pooled tags. Queries
+ * share a read lock, so they only wait for writers.
+ */
+public class TagBitmapIndex implements ContactIndex {
+    private static final int[] NO_TAGS = new int[0];
+
+    private final IndexedContacts contacts;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<UUID> byOrdinal = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final CompressedBitmap allContacts = new CompressedBitmap();
+    private final Map<Integer, CompressedBitmap> postings = new HashMap<>();
+    private final Map<Integer, Tag> tagsById = new HashMap<>();
+    private final Map<UUID, int[]> indexedTags = new HashMap<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param contacts the shared map to resolve contact ids through.
+     */
+    public TagBitmapIndex(IndexedContacts contacts) {
+        this.contacts = contacts;
+    }
+
+    /**
+     * Indexes a contact's tags, replacing those indexed before.
+     *
+     * @param contact the contact to index.
+     */
+    @Override
+    public void put(Contact contact) {
+        lock.writeLock().lock();
+        try {
+            index(contact);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a batch of contacts under a single acquisition of the index lock,
+     * so bulk tagging does not contend with queries once per contact.
+     *
+     * @param contacts the contacts to index.
+     */
+    @Override
+    public void putAll(Collection<Contact> contacts) {
+        lock.writeLock().lock();
+        try {
+            for (Contact contact : contacts) {
+                index(contact);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Contact contact) {
+        // Resolve the tags before touching any state. A tag evicted since the
+        // contact was last read has no live id to post under, so it is skipped
+        int[] tagIds = contact.getTagIds();
+        Tag[] tags = new Tag[tagIds.length];
+        int live = 0;
+        for (int tagId : tagIds) {
+            Tag tag = TagFactory.findTagById(tagId);
+            if (tag != null) {
+                tags[live] = tag;
+                tagIds[live++] = tagId;
+            }
+        }
+        if (live < tagIds.length) {
+            tagIds = Arrays.copyOf(tagIds, live);
+        }
+
+        UUID id = contact.getId();
+        Integer ordinal = ordinals.get(id);
+        if (ordinal == null) {
+            ordinal = freeOrdinals.isEmpty() ? byOrdinal.size() : freeOrdinals.pop();
+            ordinals.put(id, ordinal);
+            if (ordinal == byOrdinal.size()) {
+                byOrdinal.add(id);
+            } else {
+                byOrdinal.set(ordinal, id);
+            }
+            allContacts.add(ordinal);
+        }
+
+        int[] previous = indexedTags.getOrDefault(id, NO_TAGS);
+        if (Arrays.equals(tagIds, previous)) {
+            return;
+        }
+        for (int tagId : SortedIntArrays.difference(previous, previous.length, tagIds, tagIds.length)) {
+            unlink(tagId, ordinal);
+        }
+        for (int tagId : SortedIntArrays.difference(tagIds, tagIds.length, previous, previous.length)) {
+            tagsById.put(tagId, tags[Arrays.binarySearch(tagIds, tagId)]);
+            postings.computeIfAbsent(tagId, t -> new CompressedBitmap()).add(ordinal);
+        }
+        if (tagIds.length == 0) {
+            indexedTags.remove(id);
+        } else {
+            indexedTags.put(id, tagIds);
+        }
+    }
+
+    /**
+     * Removes a contact from the index and frees its ordinal.
+     *
+     * @param contact the contact to remove.
+     */
+    @Override
+    public void remove(Contact contact) {
+        UUID id = contact.getId();
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return;
+            }
+            for (int tagId : indexedTags.getOrDefault(id, NO_TAGS)) {
+                unlink(tagId, ordinal);
+            }
+            indexedTags.remove(id);
+            allContacts.remove(ordinal);
+            byOrdinal.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the contacts carrying every tag in allOf and none in noneOf.
+     * Blank names are ignored; with no required tags every indexed contact is
+     * a starting candidate.
+     *
+     * @param allOf  tag names that must all be present (case-insensitive).
+     * @param noneOf tag names that must all be absent (case-insensitive).
+     * @return the matching contacts.
+     */
+    public Collection<Contact> matching(Collection<String> allOf, Collection<String> noneOf) {
+        lock.readLock().lock();
+        try {
+            List<CompressedBitmap> required = new ArrayList<>();
+            for (String name : allOf) {
+                if (name != null && !name.trim().isEmpty()) {
+                    required.add(union(tag -> tag.getName().equalsIgnoreCase(name)));
+                }
+            }
+            required.sort((a, b) -> Integer.compare(a.cardinality(), b.cardinality()));
+
+            CompressedBitmap result = allContacts;
+            for (CompressedBitmap bitmap : required) {
+                result = result.and(bitmap);
+                if (result.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+            for (String name : noneOf) {
+                if (name != null && !name.trim().isEmpty()) {
+                    result = result.andNot(union(tag -> tag.getName().equalsIgnoreCase(name)));
+                }
+            }
+            return resolve(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the contacts carrying any tag that satisfies a predicate, tested
+     * once per indexed tag rather than once per contact. Callers pass the
+     * same predicate the unindexed search uses, e.g.
+     * {@code TagSpecification::matches}, so both give the same rows.
+     *
+     * @param matches the condition to test each tag against.
+     * @return the matching contacts.
+     */
+    public Collection<Contact> withTagMatching(Predicate<? super Tag> matches) {
+        lock.readLock().lock();
+        try {
+            return resolve(union(matches));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CompressedBitmap union(Predicate<? super Tag> matches) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (Map.Entry<Integer, Tag> entry : tagsById.entrySet()) {
+            if (matches.test(entry.getValue())) {
+                result = result.or(postings.get(entry.getKey()));
+            }
+        }
+        return result;
+    }
+
+    private List<Contact> resolve(CompressedBitmap bitmap) {
+        List<Contact> result = new ArrayList<>(bitmap.cardinality());
+        bitmap.forEach(ordinal -> {
+            Contact contact = contacts.get(byOrdinal.get(ordinal));
+            if (contact != null) {
+                result.add(contact);
+            }
+        });
+        return result;
+    }
+
+    private void unlink(int tagId, int ordinal) {
+        CompressedBitmap bitmap = postings.get(tagId);
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                postings.remove(tagId);
+                tagsById.remove(tagId);
+            }
+        }
+    }
+}
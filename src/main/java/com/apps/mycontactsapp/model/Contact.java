@@ -1,47 +1,92 @@
 package com.apps.mycontactsapp.model;
 
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import com.apps.mycontactsapp.composite.ContactComponent;
 import com.apps.mycontactsapp.exceptions.InvalidContactException;
 import com.apps.mycontactsapp.exceptions.ValidationException;
 import com.apps.mycontactsapp.factory.TagFactory;
+import com.apps.mycontactsapp.util.DateTimeUtil;
 import com.apps.mycontactsapp.util.ValidationUtil;
 
 /**
  * Abstract base class representing a generic Contact.
  * Uses the Builder Pattern for construction.
  * Implements ContactComponent for the Composite and Decorator Patterns.
+ *
+ * The mutable state lives in an immutable {@link ContactVersion}. Setters
+ * publish a new version with a compare-and-set, retried if another writer got
+ * there first, so concurrent writes are never lost and readers never lock.
+ * Each getter reads the current version; callers that need several fields
+ * from the same state should read them from one {@link #getVersion()}.
  */
 public abstract class Contact implements ContactComponent {
+    // Releases the tag references of contacts and mementos nobody can reach
+    static final Cleaner TAG_CLEANER = Cleaner.create();
+
+    /**
+     * Holds the current version apart from the contact, so the cleanup that
+     * releases an unreachable contact's tags can read the last version
+     * without keeping the contact reachable.
+     */
+    private static final class VersionCell implements Runnable {
+        private static final AtomicReferenceFieldUpdater<VersionCell, ContactVersion> VERSION =
+                AtomicReferenceFieldUpdater.newUpdater(VersionCell.class, ContactVersion.class, "version");
+        private static final AtomicIntegerFieldUpdater<VersionCell> TRACKED =
+                AtomicIntegerFieldUpdater.newUpdater(VersionCell.class, "tracked");
+
+        private volatile ContactVersion version;
+        // Set once the contact is registered with TAG_CLEANER
+        private volatile int tracked;
+
+        private VersionCell(ContactVersion version) {
+            this.version = version;
+        }
+
+        @Override
+        public void run() {
+            releaseAll(version);
+        }
+    }
+
     private final UUID id;
     private final Long userId; // Owner of the contact
-    private String name;
-    private final LocalDateTime createdAt;
-    private boolean active = true; // Soft delete flag
-    private int accessCount = 0; // Frequently contacted counter
-
-    // UC-11 & UC-12: Tags managed via Association Class
-    protected java.util.Set<ContactTag> contactTags = new java.util.HashSet<>();
+    private final long createdAtMillis; // See DateTimeUtil
 
-    private List<PhoneNumber> phoneNumbers;
-    private List<EmailAddress> emailAddresses;
+    // UC-11 & UC-12: Tags are held as flyweight ids in the version; the contact
+    // counts as one reference to each of them until it drops the tag, calls
+    // releaseTags() or becomes unreachable
+    private final VersionCell cell;
 
-    protected Contact(ContactBuilder<?, ?> builder) {
-        this.id = UUID.randomUUID();
+    /**
+     * Creates a contact from a builder.
+     * 
+     * @param builder the builder holding the common state.
+     * @param empty   an empty version of the subclass's type, holding only its
+     *                own state; the builder's common state is added to it.
+     */
+    protected Contact(ContactBuilder<?, ?> builder, ContactVersion empty) {
+        this.id = builder.id != null ? builder.id : UUID.randomUUID();
         this.userId = builder.userId;
-        this.name = builder.name;
-        this.createdAt = LocalDateTime.now();
-        this.active = true;
-        this.contactTags = new HashSet<>();
-        this.phoneNumbers = new ArrayList<>(builder.phoneNumbers);
-        this.emailAddresses = new ArrayList<>(builder.emailAddresses);
+        this.createdAtMillis = DateTimeUtil
+                .toEpochMillis(builder.createdAt != null ? builder.createdAt : LocalDateTime.now());
+        this.cell = new VersionCell(empty.withName(builder.name)
+                .withAccessCount(builder.accessCount)
+                .withPhoneNumbers(List.copyOf(builder.phoneNumbers))
+                .withEmailAddresses(List.copyOf(builder.emailAddresses)));
     }
 
     /**
@@ -52,13 +97,14 @@ public abstract class Contact implements ContactComponent {
     protected Contact(Contact source) {
         this.id = source.id;
         this.userId = source.userId; // Preserve ownership
-        this.name = source.name;
-        this.createdAt = source.createdAt;
-        this.active = source.active; // Preserve active state
-        // Shallow copy of ContactTag associations (Tag is immutable)
-        this.contactTags = new HashSet<>(source.contactTags);
-        this.phoneNumbers = new ArrayList<>(source.phoneNumbers);
-        this.emailAddresses = new ArrayList<>(source.emailAddresses);
+        this.createdAtMillis = source.createdAtMillis;
+        // Versions are immutable, so they are shared; the copy counts as one
+        // more reference to each tag
+        ContactVersion state = retainTags(source);
+        this.cell = new VersionCell(state);
+        if (state.getTagCount() > 0) {
+            track();
+        }
     }
 
     /**
@@ -78,26 +124,119 @@ public abstract class Contact implements ContactComponent {
     }
 
     /**
-     * Restores the state from a memento.
+     * Restores the state from a memento: the name fields, active flag, tags,
+     * phone numbers and email addresses. The access count is usage, not
+     * edited state, so it keeps counting across undo and redo.
      * 
      * @param memento the memento to restore from.
+     * @throws IllegalArgumentException if the memento was taken from a
+     *                                  different type of contact.
      */
     public void restore(ContactMemento memento) {
-        this.updateStateFrom(memento.getStateSnapshot());
+        ContactVersion restored = memento.getState();
+        if (restored.getClass() != cell.version.getClass()) {
+            throw new IllegalArgumentException("Memento does not belong to a " + getClass().getSimpleName());
+        }
+        // Take references to the restored tags before publishing them; the
+        // memento holds its own, so none of them can have been evicted. The
+        // replaced version's references are then given back
+        for (int i = 0; i < restored.getTagCount(); i++) {
+            if (!TagFactory.retain(restored.getTagId(i))) {
+                for (int j = 0; j < i; j++) {
+                    TagFactory.release(restored.getTagId(j));
+                }
+                throw new IllegalStateException("Memento no longer holds its tags.");
+            }
+        }
+        releaseAll(update(v -> restored.withAccessCount(v.getAccessCount())));
+        if (restored.getTagCount() > 0) {
+            track();
+        }
+        Reference.reachabilityFence(memento);
+        Reference.reachabilityFence(this);
+        // userId and id are final and should not change during restore
     }
 
     /**
-     * Updates the state from another contact object.
+     * Drops every tag of the contact and releases its references to them, so
+     * tags no other contact uses are evicted. Called once a contact has been
+     * hard deleted and observers have been told, since they may still read
+     * its tags.
+     */
+    public void releaseTags() {
+        try {
+            releaseAll(update(v -> v.withoutTags()));
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    /**
+     * Reads a contact's current version and counts one more reference to each
+     * of its tags, for a new holder of that version. If the contact drops a
+     * tag in between, that tag may be evicted and its id recycled, so the
+     * references are given back and the version read again until its tags
+     * were unchanged throughout.
+     *
+     * @param contact the contact to read.
+     * @return the version whose tags are now retained.
+     */
+    static ContactVersion retainTags(Contact contact) {
+        while (true) {
+            ContactVersion version = contact.cell.version;
+            int retained = 0;
+            while (retained < version.getTagCount() && TagFactory.retain(version.getTagId(retained))) {
+                retained++;
+            }
+            if (retained == version.getTagCount() && version.hasSameTags(contact.cell.version)) {
+                Reference.reachabilityFence(contact);
+                return version;
+            }
+            for (int i = 0; i < retained; i++) {
+                TagFactory.release(version.getTagId(i));
+            }
+        }
+    }
+
+    // Releases one reference to every tag of a version
+    static void releaseAll(ContactVersion version) {
+        for (int i = 0; i < version.getTagCount(); i++) {
+            TagFactory.release(version.getTagId(i));
+        }
+    }
+
+    // Registers the contact with TAG_CLEANER on its first tag reference
+    private void track() {
+        if (cell.tracked == 0 && VersionCell.TRACKED.compareAndSet(cell, 0, 1)) {
+            TAG_CLEANER.register(this, cell);
+        }
+    }
+
+    /**
+     * Gets the current state of the contact as one consistent snapshot.
      * 
-     * @param source the contact to copy state from.
+     * @return the current version; later writes publish new versions.
      */
-    protected void updateStateFrom(Contact source) {
-        this.name = source.name;
-        this.active = source.active;
-        this.contactTags = new HashSet<>(source.contactTags);
-        this.phoneNumbers = new ArrayList<>(source.phoneNumbers);
-        this.emailAddresses = new ArrayList<>(source.emailAddresses);
-        // userId and id are final and should not change during restore
+    public ContactVersion getVersion() {
+        return cell.version;
+    }
+
+    /**
+     * Publishes a new version computed from the current one, retrying if
+     * another writer publishes first. The change must be free of side effects,
+     * since it may run more than once.
+     * 
+     * @param change computes the next version from the current one.
+     * @return the version replaced.
+     */
+    protected final ContactVersion update(UnaryOperator<ContactVersion> change) {
+        while (true) {
+            ContactVersion current = cell.version;
+            ContactVersion next = change.apply(current);
+            if (next == current || VersionCell.VERSION.compareAndSet(cell, current, next)) {
+                return current;
+            }
+        }
     }
 
     /**
@@ -124,7 +263,7 @@ public abstract class Contact implements ContactComponent {
      * @return the name.
      */
     public String getName() {
-        return name;
+        return cell.version.getName();
     }
 
     /**
@@ -137,7 +276,7 @@ public abstract class Contact implements ContactComponent {
         if (name == null || name.trim().isEmpty()) {
             throw new InvalidContactException("Name cannot be empty.");
         }
-        this.name = name;
+        update(v -> v.withName(name));
     }
 
     /**
@@ -146,7 +285,16 @@ public abstract class Contact implements ContactComponent {
      * @return the LocalDateTime when the contact was created.
      */
     public LocalDateTime getCreatedAt() {
-        return createdAt;
+        return DateTimeUtil.fromEpochMillis(createdAtMillis);
+    }
+
+    /**
+     * Gets the creation timestamp as stored, without building a LocalDateTime.
+     * 
+     * @return the creation time in epoch milliseconds (see DateTimeUtil).
+     */
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
     }
 
     /**
@@ -155,7 +303,7 @@ public abstract class Contact implements ContactComponent {
      * @return true if active, false otherwise.
      */
     public boolean isActive() {
-        return active;
+        return cell.version.isActive();
     }
 
     /**
@@ -164,7 +312,7 @@ public abstract class Contact implements ContactComponent {
      * @param active true to activate, false to soft-delete.
      */
     public void setActive(boolean active) {
-        this.active = active;
+        update(v -> v.withActive(active));
     }
 
     /**
@@ -173,14 +321,14 @@ public abstract class Contact implements ContactComponent {
      * @return the access count.
      */
     public int getAccessCount() {
-        return accessCount;
+        return cell.version.getAccessCount();
     }
 
     /**
      * Increments the access count by one.
      */
     public void incrementAccessCount() {
-        this.accessCount++;
+        update(v -> v.withAccessCount(v.getAccessCount() + 1));
     }
 
     /**
@@ -189,7 +337,17 @@ public abstract class Contact implements ContactComponent {
      * @return a list of PhoneNumber objects.
      */
     public List<PhoneNumber> getPhoneNumbers() {
-        return new ArrayList<>(phoneNumbers);
+        return new ArrayList<>(cell.version.getPhoneNumbers());
+    }
+
+    /**
+     * Gets a read-only view of the phone numbers, without copying.
+     * The list is immutable and does not reflect later writes.
+     * 
+     * @return an unmodifiable view of the phone numbers.
+     */
+    public List<PhoneNumber> getPhoneNumbersView() {
+        return cell.version.getPhoneNumbers();
     }
 
     /**
@@ -200,14 +358,16 @@ public abstract class Contact implements ContactComponent {
      * @throws ValidationException if any phone number is invalid.
      */
     public void setPhoneNumbers(List<PhoneNumber> phoneNumbers) throws ValidationException {
+        List<PhoneNumber> validated;
         if (phoneNumbers != null) {
             for (PhoneNumber p : phoneNumbers) {
                 ValidationUtil.validatePhoneNumber(p.getNumber());
             }
-            this.phoneNumbers = new ArrayList<>(phoneNumbers);
+            validated = List.copyOf(phoneNumbers);
         } else {
-            this.phoneNumbers = new ArrayList<>();
+            validated = List.of();
         }
+        update(v -> v.withPhoneNumbers(validated));
     }
 
     /**
@@ -216,7 +376,17 @@ public abstract class Contact implements ContactComponent {
      * @return a list of EmailAddress objects.
      */
     public List<EmailAddress> getEmailAddresses() {
-        return new ArrayList<>(emailAddresses);
+        return new ArrayList<>(cell.version.getEmailAddresses());
+    }
+
+    /**
+     * Gets a read-only view of the email addresses, without copying.
+     * The list is immutable and does not reflect later writes.
+     * 
+     * @return an unmodifiable view of the email addresses.
+     */
+    public List<EmailAddress> getEmailAddressesView() {
+        return cell.version.getEmailAddresses();
     }
 
     /**
@@ -227,23 +397,37 @@ public abstract class Contact implements ContactComponent {
      * @throws ValidationException if any email address is invalid.
      */
     public void setEmailAddresses(List<EmailAddress> emailAddresses) throws ValidationException {
+        List<EmailAddress> validated;
         if (emailAddresses != null) {
             for (EmailAddress e : emailAddresses) {
                 ValidationUtil.validateEmail(e.getEmail());
             }
-            this.emailAddresses = new ArrayList<>(emailAddresses);
+            validated = List.copyOf(emailAddresses);
         } else {
-            this.emailAddresses = new ArrayList<>();
+            validated = List.of();
         }
+        update(v -> v.withEmailAddresses(validated));
     }
 
     /**
      * Gets the display name of the contact.
-     * Subclasses must implement this to provide specific display logic.
+     * Built once per version by {@link ContactVersion#buildDisplayName()}.
      * 
      * @return the display name.
      */
-    public abstract String getDisplayName();
+    public final String getDisplayName() {
+        return cell.version.getDisplayName();
+    }
+
+    /**
+     * Gets a case-folded form of the display name for sorting.
+     * See {@link ContactVersion#getNameSortKey()}.
+     * 
+     * @return the sort key.
+     */
+    public final String getNameSortKey() {
+        return cell.version.getNameSortKey();
+    }
 
     /**
      * {@inheritDoc}
@@ -259,26 +443,27 @@ public abstract class Contact implements ContactComponent {
      */
     @Override
     public String getDetails() {
+        ContactVersion state = cell.version;
         StringBuilder sb = new StringBuilder();
-        sb.append("Name: ").append(getDisplayName()).append("\n");
+        sb.append("Name: ").append(state.getDisplayName()).append("\n");
         sb.append("Created At: ").append(getCreatedAt()).append("\n");
-        sb.append("Access Count: ").append(getAccessCount()).append("\n");
+        sb.append("Access Count: ").append(state.getAccessCount()).append("\n");
 
-        if (!phoneNumbers.isEmpty()) {
+        if (!state.getPhoneNumbers().isEmpty()) {
             sb.append("Phone Numbers:\n");
-            for (PhoneNumber p : phoneNumbers) {
+            for (PhoneNumber p : state.getPhoneNumbers()) {
                 sb.append("  - ").append(p).append("\n");
             }
         }
 
-        if (!emailAddresses.isEmpty()) {
+        if (!state.getEmailAddresses().isEmpty()) {
             sb.append("Emails:\n");
-            for (EmailAddress e : emailAddresses) {
+            for (EmailAddress e : state.getEmailAddresses()) {
                 sb.append("  - ").append(e).append("\n");
             }
         }
-        if (!contactTags.isEmpty()) {
-            sb.append("Tags: ").append(contactTags.stream()
+        if (state.getTagCount() > 0) {
+            sb.append("Tags: ").append(contactTags(state).stream()
                     .map(ContactTag::toString)
                     .collect(Collectors.joining(", "))).append("\n");
         }
@@ -295,8 +480,7 @@ public abstract class Contact implements ContactComponent {
     @Override
     public void addTag(String tag) {
         if (tag != null && !tag.trim().isEmpty()) {
-            Tag t = TagFactory.getTag(tag);
-            this.contactTags.add(new ContactTag(this, t));
+            linkTag(TagFactory.acquire(tag));
         }
     }
 
@@ -307,7 +491,8 @@ public abstract class Contact implements ContactComponent {
      */
     public void addTag(Tag tag) {
         if (tag != null) {
-            this.contactTags.add(new ContactTag(this, tag));
+            // Acquire by name: the tag may be unpooled or evicted since
+            linkTag(TagFactory.acquire(tag.getName()));
         }
     }
 
@@ -319,10 +504,40 @@ public abstract class Contact implements ContactComponent {
      */
     @Override
     public void removeTag(String tag) {
-        if (tag != null) {
-            Tag t = TagFactory.getTag(tag);
-            this.contactTags.remove(new ContactTag(this, t));
+        Tag t = TagFactory.findTag(tag);
+        if (t != null && update(v -> v.withoutTag(t.getId())).hasTagId(t.getId())) {
+            TagFactory.release(t.getId());
         }
+        Reference.reachabilityFence(this);
+    }
+
+    /**
+     * Adds a tag with a known assignment time, e.g. when reloading a persisted
+     * contact. Has no effect if the contact already carries the tag.
+     * 
+     * @param tag              the tag name to add.
+     * @param assignedAtMillis when the tag was assigned, in epoch milliseconds
+     *                         (see DateTimeUtil).
+     */
+    public void addTag(String tag, long assignedAtMillis) {
+        if (tag != null && !tag.trim().isEmpty()) {
+            linkTag(TagFactory.acquire(tag), assignedAtMillis);
+        }
+    }
+
+    private void linkTag(Tag acquired) {
+        linkTag(acquired, DateTimeUtil.currentEpochMillis());
+    }
+
+    private void linkTag(Tag acquired, long assignedAtMillis) {
+        int tagId = acquired.getId();
+        if (update(v -> v.withTag(tagId, assignedAtMillis)).hasTagId(tagId)) {
+            // Already tagged; the original assignment time is kept
+            TagFactory.release(tagId);
+        } else {
+            track();
+        }
+        Reference.reachabilityFence(this);
     }
 
     /**
@@ -331,7 +546,7 @@ public abstract class Contact implements ContactComponent {
      */
     @Override
     public void delete() {
-        this.active = false;
+        setActive(false);
     }
 
     /**
@@ -342,7 +557,9 @@ public abstract class Contact implements ContactComponent {
      */
     @Override
     public Set<String> getTags() {
-        return contactTags.stream().map(ct -> ct.getTag().getName()).collect(Collectors.toSet());
+        Set<String> names = new HashSet<>();
+        forEachTag(names::add);
+        return names;
     }
 
     /**
@@ -351,27 +568,132 @@ public abstract class Contact implements ContactComponent {
      * @return a Set of Tag objects.
      */
     public Set<Tag> getTagObjects() {
-        return contactTags.stream().map(ContactTag::getTag).collect(Collectors.toSet());
+        return cell.version.getTagObjects();
     }
 
     /**
-     * Gets the ContactTag associations.
+     * Gets the ContactTag associations, built from the stored tag ids.
      * 
      * @return a Set of ContactTag objects.
      */
     public Set<ContactTag> getContactTags() {
-        return new HashSet<>(contactTags);
+        return contactTags(cell.version);
+    }
+
+    private Set<ContactTag> contactTags(ContactVersion state) {
+        Set<ContactTag> contactTags = new HashSet<>();
+        for (int i = 0; i < state.getTagCount(); i++) {
+            Tag tag = TagFactory.findTagById(state.getTagId(i));
+            if (tag != null) {
+                contactTags.add(new ContactTag(this, tag,
+                        DateTimeUtil.fromEpochMillis(state.getTagAssignedAtMillis(i))));
+            }
+        }
+        return contactTags;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Visits the tag names directly, without building a set.
+     * 
+     * @param action the action to run for each tag name.
+     */
+    @Override
+    public void forEachTag(Consumer<String> action) {
+        cell.version.forEachTag(action);
+    }
+
+    /**
+     * Checks whether any tag of the contact matches a predicate, without
+     * building a set.
+     * 
+     * @param predicate the condition to test each Tag against.
+     * @return true if at least one tag matches.
+     */
+    public boolean anyTagMatches(Predicate<? super Tag> predicate) {
+        return cell.version.anyTagMatches(predicate);
+    }
+
+    /**
+     * Gets the ids of the contact's tags.
+     * 
+     * @return a new array of flyweight tag ids, sorted ascending.
+     */
+    public int[] getTagIds() {
+        return cell.version.getTagIds();
+    }
+
+    /**
+     * Checks whether the contact carries a tag, by binary search over its ids.
+     * 
+     * @param tagId the flyweight tag id.
+     * @return true if the contact has the tag.
+     */
+    public boolean hasTagId(int tagId) {
+        return cell.version.hasTagId(tagId);
+    }
+
+    /**
+     * Checks whether the contact carries any of the given tags, by a merge of
+     * the two sorted id arrays.
+     * 
+     * @param sortedTagIds flyweight tag ids, sorted ascending without
+     *                     duplicates.
+     * @return true if at least one of the tags is present.
+     */
+    public boolean hasAnyTagId(int[] sortedTagIds) {
+        return cell.version.hasAnyTagId(sortedTagIds);
     }
 
     /**
      * Generic Builder for Contact.
      */
     public static abstract class ContactBuilder<T extends ContactBuilder<T, U>, U extends Contact> {
+        private UUID id;
         private Long userId;
         private String name;
+        private LocalDateTime createdAt;
+        private int accessCount;
         private List<PhoneNumber> phoneNumbers = new ArrayList<>();
         private List<EmailAddress> emailAddresses = new ArrayList<>();
 
+        /**
+         * Sets the ID of the contact.
+         * Used when reloading persisted contacts; a random ID is generated
+         * otherwise.
+         * 
+         * @param id the contact ID.
+         * @return the builder instance.
+         */
+        public T id(UUID id) {
+            this.id = id;
+            return self();
+        }
+
+        /**
+         * Sets the creation timestamp of the contact.
+         * Used when reloading persisted contacts; defaults to now.
+         * 
+         * @param createdAt the creation timestamp.
+         * @return the builder instance.
+         */
+        public T createdAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return self();
+        }
+
+        /**
+         * Sets the initial access count of the contact.
+         * Used when reloading persisted contacts; defaults to zero.
+         * 
+         * @param accessCount the access count.
+         * @return the builder instance.
+         */
+        public T accessCount(int accessCount) {
+            this.accessCount = accessCount;
+            return self();
+        }
+
         /**
          * Sets the user ID for the contact owner.
          * 
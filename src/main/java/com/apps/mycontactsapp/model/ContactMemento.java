@@ -3,9 +3,13 @@ package com.apps.mycontactsapp.model;
 /**
  * Memento class to store the state of a Contact.
  * Implements the Memento Pattern.
+ * The state is the contact's immutable version at the time. The memento holds
+ * a reference to each of its tags, so they stay pooled for a restore, and
+ * gives them back once it becomes unreachable, e.g. when the command holding
+ * it is discarded.
  */
 public class ContactMemento {
-    private final Contact stateSnapshot;
+    private final ContactVersion state;
 
     /**
      * Constructs a new ContactMemento.
@@ -13,15 +17,19 @@ public class ContactMemento {
      * @param contact the contact to save state from.
      */
     public ContactMemento(Contact contact) {
-        this.stateSnapshot = contact.copy();
+        ContactVersion current = Contact.retainTags(contact);
+        this.state = current;
+        if (current.getTagCount() > 0) {
+            Contact.TAG_CLEANER.register(this, () -> Contact.releaseAll(current));
+        }
     }
 
     /**
-     * Gets the saved state snapshot.
+     * Gets the saved state.
      * 
-     * @return the contact state.
+     * @return the contact version.
      */
-    public Contact getStateSnapshot() {
-        return stateSnapshot;
+    public ContactVersion getState() {
+        return state;
     }
 }
@@ -0,0 +1,51 @@
+package com.apps.mycontactsapp.model;
+
+import java.util.List;
+
+/**
+ * One page of a sorted contact listing.
+ * Carries an opaque continuation token for fetching the following page.
+ */
+public class ContactPage {
+    private final List<Contact> contacts;
+    private final String nextPageToken;
+
+    /**
+     * Constructs a new ContactPage.
+     *
+     * @param contacts      the contacts on this page, in sort order.
+     * @param nextPageToken the token for the next page, or null if this is the
+     *                      last page.
+     */
+    public ContactPage(List<Contact> contacts, String nextPageToken) {
+        this.contacts = List.copyOf(contacts);
+        this.nextPageToken = nextPageToken;
+    }
+
+    /**
+     * Gets the contacts on this page.
+     *
+     * @return an unmodifiable list of contacts.
+     */
+    public List<Contact> getContacts() {
+        return contacts;
+    }
+
+    /**
+     * Gets the continuation token for the next page.
+     *
+     * @return the token, or null if there are no more pages.
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    /**
+     * Checks whether another page follows this one.
+     *
+     * @return true if there is a next page.
+     */
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+}
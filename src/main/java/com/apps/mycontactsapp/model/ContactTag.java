@@ -14,9 +14,20 @@ public class ContactTag {
     private final LocalDateTime assignedAt;
 
     public ContactTag(Contact contact, Tag tag) {
+        this(contact, tag, LocalDateTime.now());
+    }
+
+    /**
+     * Rebuilds an association with a known assignment time.
+     * 
+     * @param contact    the tagged contact.
+     * @param tag        the tag.
+     * @param assignedAt when the tag was assigned.
+     */
+    public ContactTag(Contact contact, Tag tag, LocalDateTime assignedAt) {
         this.contact = contact;
         this.tag = tag;
-        this.assignedAt = LocalDateTime.now();
+        this.assignedAt = assignedAt;
     }
 
     /**
@@ -0,0 +1,387 @@
+package com.apps.mycontactsapp.model;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.apps.mycontactsapp.factory.TagFactory;
+import com.apps.mycontactsapp.util.SortedIntArrays;
+
+/**
+ * Immutable snapshot of the mutable state of a {@link Contact}.
+ *
+ * A contact holds its current version in a single volatile field and every
+ * write publishes a new version by compare-and-set, so a reader that takes
+ * one version sees a consistent state without locking, however many writes
+ * follow. Versions are never modified after construction; the {@code with}
+ * methods return a new version, or this one if nothing would change.
+ *
+ * Tag ids held by a version are references counted by the contact, not by
+ * the version; see {@link ContactMemento} for holding on to one. A reader
+ * still holding a version after one of its tags was untagged and evicted
+ * skips that tag.
+ */
+public abstract class ContactVersion {
+    private static final int[] NO_TAG_IDS = new int[0];
+    private static final long[] NO_TIMESTAMPS = new long[0];
+
+    private final String name;
+    private final boolean active;
+    private final int accessCount;
+    // Flyweight tag ids, sorted and exactly sized, with their assignment times
+    // (epoch millis) in a parallel array
+    private final int[] tagIds;
+    private final long[] tagAssignedAt;
+    private final List<PhoneNumber> phoneNumbers;
+    private final List<EmailAddress> emailAddresses;
+
+    // Derived from the name fields on first use; racy but idempotent, and
+    // String is safely publishable
+    private String displayName;
+    private String nameSortKey;
+
+    /**
+     * Creates an empty version: no name, active, never accessed and without
+     * tags, phone numbers or email addresses.
+     */
+    protected ContactVersion() {
+        this(null, true, 0, NO_TAG_IDS, NO_TIMESTAMPS, List.of(), List.of());
+    }
+
+    /**
+     * Creates a version with the common state of another, e.g. for a subclass
+     * to change only its own state.
+     *
+     * @param source the version to take the common state from.
+     */
+    protected ContactVersion(ContactVersion source) {
+        this(source.name, source.active, source.accessCount, source.tagIds, source.tagAssignedAt,
+                source.phoneNumbers, source.emailAddresses);
+    }
+
+    /**
+     * Creates a version with the given common state.
+     *
+     * @param name           the name.
+     * @param active         the active flag.
+     * @param accessCount    the access count.
+     * @param tagIds         sorted tag ids; not copied.
+     * @param tagAssignedAt  assignment times parallel to tagIds; not copied.
+     * @param phoneNumbers   an immutable list of phone numbers.
+     * @param emailAddresses an immutable list of email addresses.
+     */
+    protected ContactVersion(String name, boolean active, int accessCount, int[] tagIds, long[] tagAssignedAt,
+            List<PhoneNumber> phoneNumbers, List<EmailAddress> emailAddresses) {
+        this.name = name;
+        this.active = active;
+        this.accessCount = accessCount;
+        this.tagIds = tagIds;
+        this.tagAssignedAt = tagAssignedAt;
+        this.phoneNumbers = phoneNumbers;
+        this.emailAddresses = emailAddresses;
+    }
+
+    /**
+     * Creates a version of the same type, with this version's type-specific
+     * state and the given common state.
+     *
+     * @param name           the name.
+     * @param active         the active flag.
+     * @param accessCount    the access count.
+     * @param tagIds         sorted tag ids; not copied.
+     * @param tagAssignedAt  assignment times parallel to tagIds; not copied.
+     * @param phoneNumbers   an immutable list of phone numbers.
+     * @param emailAddresses an immutable list of email addresses.
+     * @return the new version.
+     */
+    protected abstract ContactVersion with(String name, boolean active, int accessCount, int[] tagIds,
+            long[] tagAssignedAt, List<PhoneNumber> phoneNumbers, List<EmailAddress> emailAddresses);
+
+    /**
+     * Builds the display name from this version's state.
+     *
+     * @return the display name.
+     */
+    protected abstract String buildDisplayName();
+
+    ContactVersion withName(String name) {
+        return with(name, active, accessCount, tagIds, tagAssignedAt, phoneNumbers, emailAddresses);
+    }
+
+    ContactVersion withActive(boolean active) {
+        if (active == this.active) {
+            return this;
+        }
+        return with(name, active, accessCount, tagIds, tagAssignedAt, phoneNumbers, emailAddresses);
+    }
+
+    ContactVersion withAccessCount(int accessCount) {
+        if (accessCount == this.accessCount) {
+            return this;
+        }
+        return with(name, active, accessCount, tagIds, tagAssignedAt, phoneNumbers, emailAddresses);
+    }
+
+    ContactVersion withPhoneNumbers(List<PhoneNumber> phoneNumbers) {
+        return with(name, active, accessCount, tagIds, tagAssignedAt, phoneNumbers, emailAddresses);
+    }
+
+    ContactVersion withEmailAddresses(List<EmailAddress> emailAddresses) {
+        return with(name, active, accessCount, tagIds, tagAssignedAt, phoneNumbers, emailAddresses);
+    }
+
+    // Returns this version if already tagged, keeping the original assignment time
+    ContactVersion withTag(int tagId, long assignedAt) {
+        int pos = Arrays.binarySearch(tagIds, tagId);
+        if (pos >= 0) {
+            return this;
+        }
+        pos = -pos - 1;
+        int[] ids = new int[tagIds.length + 1];
+        long[] times = new long[ids.length];
+        System.arraycopy(tagIds, 0, ids, 0, pos);
+        System.arraycopy(tagAssignedAt, 0, times, 0, pos);
+        ids[pos] = tagId;
+        times[pos] = assignedAt;
+        System.arraycopy(tagIds, pos, ids, pos + 1, tagIds.length - pos);
+        System.arraycopy(tagAssignedAt, pos, times, pos + 1, tagIds.length - pos);
+        return with(name, active, accessCount, ids, times, phoneNumbers, emailAddresses);
+    }
+
+    ContactVersion withoutTags() {
+        if (tagIds.length == 0) {
+            return this;
+        }
+        return with(name, active, accessCount, NO_TAG_IDS, NO_TIMESTAMPS, phoneNumbers, emailAddresses);
+    }
+
+    // Returns this version if not tagged
+    ContactVersion withoutTag(int tagId) {
+        int pos = Arrays.binarySearch(tagIds, tagId);
+        if (pos < 0) {
+            return this;
+        }
+        if (tagIds.length == 1) {
+            return with(name, active, accessCount, NO_TAG_IDS, NO_TIMESTAMPS, phoneNumbers, emailAddresses);
+        }
+        int[] ids = new int[tagIds.length - 1];
+        long[] times = new long[ids.length];
+        System.arraycopy(tagIds, 0, ids, 0, pos);
+        System.arraycopy(tagAssignedAt, 0, times, 0, pos);
+        System.arraycopy(tagIds, pos + 1, ids, pos, ids.length - pos);
+        System.arraycopy(tagAssignedAt, pos + 1, times, pos, ids.length - pos);
+        return with(name, active, accessCount, ids, times, phoneNumbers, emailAddresses);
+    }
+
+    // True if both versions share one tag array, i.e. no tag was added or
+    // removed between them (the withers copy the array on any tag change)
+    boolean hasSameTags(ContactVersion other) {
+        return tagIds == other.tagIds;
+    }
+
+    /**
+     * Gets the name.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks if the contact was active (not soft-deleted) in this version.
+     *
+     * @return true if active.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Gets the access count.
+     *
+     * @return the access count.
+     */
+    public int getAccessCount() {
+        return accessCount;
+    }
+
+    /**
+     * Gets the phone numbers.
+     *
+     * @return an immutable list of phone numbers.
+     */
+    public List<PhoneNumber> getPhoneNumbers() {
+        return phoneNumbers;
+    }
+
+    /**
+     * Gets the email addresses.
+     *
+     * @return an immutable list of email addresses.
+     */
+    public List<EmailAddress> getEmailAddresses() {
+        return emailAddresses;
+    }
+
+    /**
+     * Gets the display name, built once by {@link #buildDisplayName()}.
+     *
+     * @return the display name.
+     */
+    public final String getDisplayName() {
+        String cached = displayName;
+        if (cached == null) {
+            cached = buildDisplayName();
+            displayName = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Gets a case-folded form of the display name for sorting.
+     * Comparing two keys with {@link String#compareTo(String)} gives the same
+     * order as {@link String#CASE_INSENSITIVE_ORDER} on the display names (for
+     * text without surrogate pairs), without folding case on every comparison.
+     *
+     * @return the sort key.
+     */
+    public final String getNameSortKey() {
+        String cached = nameSortKey;
+        if (cached == null) {
+            cached = foldCase(getDisplayName());
+            nameSortKey = cached;
+        }
+        return cached;
+    }
+
+    private static String foldCase(String s) {
+        if (s == null) {
+            return "";
+        }
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Gets the number of tags.
+     *
+     * @return the tag count.
+     */
+    public int getTagCount() {
+        return tagIds.length;
+    }
+
+    /**
+     * Gets the ids of the tags.
+     *
+     * @return a new array of flyweight tag ids, sorted ascending.
+     */
+    public int[] getTagIds() {
+        return tagIds.clone();
+    }
+
+    /**
+     * Gets the id of the tag at a position in id order.
+     *
+     * @param index the position, from zero to {@link #getTagCount()}.
+     * @return the flyweight tag id.
+     */
+    public int getTagId(int index) {
+        return tagIds[index];
+    }
+
+    /**
+     * Gets when the tag at a position in id order was assigned.
+     *
+     * @param index the position, from zero to {@link #getTagCount()}.
+     * @return the assignment time in epoch milliseconds (see DateTimeUtil).
+     */
+    public long getTagAssignedAtMillis(int index) {
+        return tagAssignedAt[index];
+    }
+
+    /**
+     * Gets the position of a tag in id order, by binary search over its ids.
+     *
+     * @param tagId the flyweight tag id.
+     * @return the position, or a negative number if not tagged.
+     */
+    public int indexOfTagId(int tagId) {
+        return Arrays.binarySearch(tagIds, tagId);
+    }
+
+    /**
+     * Checks whether the version carries a tag, by binary search over its ids.
+     *
+     * @param tagId the flyweight tag id.
+     * @return true if tagged.
+     */
+    public boolean hasTagId(int tagId) {
+        return indexOfTagId(tagId) >= 0;
+    }
+
+    /**
+     * Checks whether the version carries any of the given tags, by a merge of
+     * the two sorted id arrays.
+     *
+     * @param sortedTagIds flyweight tag ids, sorted ascending without
+     *                     duplicates.
+     * @return true if at least one of the tags is present.
+     */
+    public boolean hasAnyTagId(int[] sortedTagIds) {
+        return SortedIntArrays.intersects(tagIds, tagIds.length, sortedTagIds, sortedTagIds.length);
+    }
+
+    /**
+     * Gets the Tag objects (Flyweights).
+     *
+     * @return a Set of Tag objects.
+     */
+    public Set<Tag> getTagObjects() {
+        Set<Tag> tags = new HashSet<>();
+        for (int tagId : tagIds) {
+            Tag tag = TagFactory.findTagById(tagId);
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Visits the tag names, without building a set.
+     *
+     * @param action the action to run for each tag name.
+     */
+    public void forEachTag(Consumer<String> action) {
+        for (int tagId : tagIds) {
+            Tag tag = TagFactory.findTagById(tagId);
+            if (tag != null) {
+                action.accept(tag.getName());
+            }
+        }
+    }
+
+    /**
+     * Checks whether any tag matches a predicate, without building a set.
+     *
+     * @param predicate the condition to test each Tag against.
+     * @return true if at least one tag matches.
+     */
+    public boolean anyTagMatches(Predicate<? super Tag> predicate) {
+        for (int tagId : tagIds) {
+            Tag tag = TagFactory.findTagById(tagId);
+            if (tag != null && predicate.test(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
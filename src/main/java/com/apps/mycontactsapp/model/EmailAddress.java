@@ -7,6 +7,8 @@ package com.apps.mycontactsapp.model;
 public class EmailAddress {
     private final String label;
     private final String email;
+    private final String localPart;
+    private final String domain;
 
     /**
      * Constructs a new EmailAddress.
@@ -17,6 +19,11 @@ public class EmailAddress {
     public EmailAddress(String label, String email) {
         this.label = label;
         this.email = email;
+        // Split once up front; searches read these for every contact
+        String folded = email == null ? "" : email.toLowerCase();
+        int at = folded.lastIndexOf('@');
+        this.localPart = at < 0 ? folded : folded.substring(0, at);
+        this.domain = at < 0 ? "" : folded.substring(at + 1);
     }
 
     /**
@@ -37,6 +44,24 @@ public class EmailAddress {
         return email;
     }
 
+    /**
+     * Gets the lower-cased part of the address before the last '@'.
+     * 
+     * @return the local part, or the whole address if it has no '@'.
+     */
+    public String getLocalPart() {
+        return localPart;
+    }
+
+    /**
+     * Gets the lower-cased part of the address after the last '@'.
+     * 
+     * @return the domain, or an empty string if it has no '@'.
+     */
+    public String getDomain() {
+        return domain;
+    }
+
     /**
      * Returns a string representation of the EmailAddress.
      * 
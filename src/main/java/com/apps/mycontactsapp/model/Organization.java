@@ -1,25 +1,84 @@
 package com.apps.mycontactsapp.model;
 
+import java.util.List;
+
 import com.apps.mycontactsapp.exceptions.ValidationException;
 
 /**
  * Represents an Organization contact.
  */
 public class Organization extends Contact {
-    private String website;
-    private String department;
+
+    /**
+     * Immutable snapshot of an Organization's state.
+     */
+    public static final class OrganizationVersion extends ContactVersion {
+        private final String website;
+        private final String department;
+
+        private OrganizationVersion(String website, String department) {
+            this.website = website;
+            this.department = department;
+        }
+
+        private OrganizationVersion(OrganizationVersion source, String website, String department) {
+            super(source);
+            this.website = website;
+            this.department = department;
+        }
+
+        private OrganizationVersion(String name, boolean active, int accessCount, int[] tagIds,
+                long[] tagAssignedAt, List<PhoneNumber> phoneNumbers, List<EmailAddress> emailAddresses,
+                String website, String department) {
+            super(name, active, accessCount, tagIds, tagAssignedAt, phoneNumbers, emailAddresses);
+            this.website = website;
+            this.department = department;
+        }
+
+        @Override
+        protected ContactVersion with(String name, boolean active, int accessCount, int[] tagIds,
+                long[] tagAssignedAt, List<PhoneNumber> phoneNumbers, List<EmailAddress> emailAddresses) {
+            return new OrganizationVersion(name, active, accessCount, tagIds, tagAssignedAt, phoneNumbers,
+                    emailAddresses, website, department);
+        }
+
+        /**
+         * Gets the organization's website.
+         * 
+         * @return the website URL.
+         */
+        public String getWebsite() {
+            return website;
+        }
+
+        /**
+         * Gets the department name.
+         * 
+         * @return the department name.
+         */
+        public String getDepartment() {
+            return department;
+        }
+
+        /**
+         * Builds the display name of the organization.
+         * Includes department if available.
+         * 
+         * @return the display name.
+         */
+        @Override
+        protected String buildDisplayName() {
+            return getName() + (department != null ? " (" + department + ")" : "");
+        }
+    }
 
     private Organization(OrganizationBuilder builder) {
-        super(builder);
-        this.website = builder.website;
-        this.department = builder.department;
+        super(builder, new OrganizationVersion(builder.website, builder.department));
     }
 
     // Copy Constructor
     private Organization(Organization source) {
         super(source);
-        this.website = source.website;
-        this.department = source.department;
     }
 
     /**
@@ -32,14 +91,14 @@ public class Organization extends Contact {
         return new Organization(this);
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @return the current version.
+     */
     @Override
-    protected void updateStateFrom(Contact source) {
-        super.updateStateFrom(source);
-        if (source instanceof Organization) {
-            Organization o = (Organization) source;
-            this.website = o.website;
-            this.department = o.department;
-        }
+    public OrganizationVersion getVersion() {
+        return (OrganizationVersion) super.getVersion();
     }
 
     /**
@@ -48,7 +107,7 @@ public class Organization extends Contact {
      * @return the website URL.
      */
     public String getWebsite() {
-        return website;
+        return getVersion().getWebsite();
     }
 
     /**
@@ -59,7 +118,7 @@ public class Organization extends Contact {
      */
     public void setWebsite(String website) throws ValidationException {
         // Optional validation logic here
-        this.website = website;
+        update(v -> new OrganizationVersion((OrganizationVersion) v, website, ((OrganizationVersion) v).department));
     }
 
     /**
@@ -68,7 +127,7 @@ public class Organization extends Contact {
      * @return the department name.
      */
     public String getDepartment() {
-        return department;
+        return getVersion().getDepartment();
     }
 
     /**
@@ -79,18 +138,7 @@ public class Organization extends Contact {
      */
     public void setDepartment(String department) throws ValidationException {
         // Optional validation logic here
-        this.department = department;
-    }
-
-    /**
-     * Gets the display name of the organization.
-     * Includes department if available.
-     * 
-     * @return the display name.
-     */
-    @Override
-    public String getDisplayName() {
-        return getName() + (department != null ? " (" + department + ")" : "");
+        update(v -> new OrganizationVersion((OrganizationVersion) v, ((OrganizationVersion) v).website, department));
     }
 
     /**
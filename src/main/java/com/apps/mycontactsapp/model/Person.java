@@ -1,25 +1,84 @@
 package com.apps.mycontactsapp.model;
 
+import java.util.List;
+
 import com.apps.mycontactsapp.exceptions.ValidationException;
 
 /**
  * Represents a Person contact.
  */
 public class Person extends Contact {
-    private String firstName;
-    private String lastName;
+
+    /**
+     * Immutable snapshot of a Person's state.
+     */
+    public static final class PersonVersion extends ContactVersion {
+        private final String firstName;
+        private final String lastName;
+
+        private PersonVersion(String firstName, String lastName) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+
+        private PersonVersion(PersonVersion source, String firstName, String lastName) {
+            super(source);
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+
+        private PersonVersion(String name, boolean active, int accessCount, int[] tagIds, long[] tagAssignedAt,
+                List<PhoneNumber> phoneNumbers, List<EmailAddress> emailAddresses, String firstName,
+                String lastName) {
+            super(name, active, accessCount, tagIds, tagAssignedAt, phoneNumbers, emailAddresses);
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+
+        @Override
+        protected ContactVersion with(String name, boolean active, int accessCount, int[] tagIds,
+                long[] tagAssignedAt, List<PhoneNumber> phoneNumbers, List<EmailAddress> emailAddresses) {
+            return new PersonVersion(name, active, accessCount, tagIds, tagAssignedAt, phoneNumbers, emailAddresses,
+                    firstName, lastName);
+        }
+
+        /**
+         * Gets the first name.
+         * 
+         * @return the first name.
+         */
+        public String getFirstName() {
+            return firstName;
+        }
+
+        /**
+         * Gets the last name.
+         * 
+         * @return the last name.
+         */
+        public String getLastName() {
+            return lastName;
+        }
+
+        /**
+         * Builds the display name of the person.
+         * Combines first and last name.
+         * 
+         * @return the full name.
+         */
+        @Override
+        protected String buildDisplayName() {
+            return (firstName + " " + lastName).trim();
+        }
+    }
 
     private Person(PersonBuilder builder) {
-        super(builder);
-        this.firstName = builder.firstName;
-        this.lastName = builder.lastName;
+        super(builder, new PersonVersion(builder.firstName, builder.lastName));
     }
 
     // Copy Constructor
     private Person(Person source) {
         super(source);
-        this.firstName = source.firstName;
-        this.lastName = source.lastName;
     }
 
     /**
@@ -32,14 +91,14 @@ public class Person extends Contact {
         return new Person(this);
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @return the current version.
+     */
     @Override
-    protected void updateStateFrom(Contact source) {
-        super.updateStateFrom(source);
-        if (source instanceof Person) {
-            Person p = (Person) source;
-            this.firstName = p.firstName;
-            this.lastName = p.lastName;
-        }
+    public PersonVersion getVersion() {
+        return (PersonVersion) super.getVersion();
     }
 
     /**
@@ -48,7 +107,7 @@ public class Person extends Contact {
      * @return the first name.
      */
     public String getFirstName() {
-        return firstName;
+        return getVersion().getFirstName();
     }
 
     /**
@@ -61,7 +120,7 @@ public class Person extends Contact {
         if (firstName == null || firstName.trim().isEmpty()) {
             throw new ValidationException("First name cannot be empty.");
         }
-        this.firstName = firstName;
+        update(v -> new PersonVersion((PersonVersion) v, firstName, ((PersonVersion) v).lastName));
     }
 
     /**
@@ -70,7 +129,7 @@ public class Person extends Contact {
      * @return the last name.
      */
     public String getLastName() {
-        return lastName;
+        return getVersion().getLastName();
     }
 
     /**
@@ -83,18 +142,7 @@ public class Person extends Contact {
         if (lastName == null || lastName.trim().isEmpty()) {
             throw new ValidationException("Last name cannot be empty.");
         }
-        this.lastName = lastName;
-    }
-
-    /**
-     * Gets the display name of the person.
-     * Combines first and last name.
-     * 
-     * @return the full name.
-     */
-    @Override
-    public String getDisplayName() {
-        return (firstName + " " + lastName).trim();
+        update(v -> new PersonVersion((PersonVersion) v, ((PersonVersion) v).firstName, lastName));
     }
 
     /**
@@ -9,6 +9,7 @@ import java.util.Objects;
  */
 public class Tag {
     private final String name;
+    private final int id;
 
     /**
      * Constructor. Should primarily be used by TagFactory to ensure Flyweight
@@ -17,7 +18,18 @@ public class Tag {
      * @param name the name of the tag.
      */
     public Tag(String name) {
+        this(name, -1);
+    }
+
+    /**
+     * Constructor used by TagFactory to give each pooled tag a dense id.
+     * 
+     * @param name the name of the tag.
+     * @param id   the pool-assigned id, or -1 if the tag is not pooled.
+     */
+    public Tag(String name, int id) {
         this.name = name;
+        this.id = id;
     }
 
     /**
@@ -29,6 +41,17 @@ public class Tag {
         return name;
     }
 
+    /**
+     * Gets the dense id assigned by TagFactory.
+     * Ids are small non-negative integers suitable for array and bitmap
+     * indexing.
+     * 
+     * @return the id, or -1 if this tag was not obtained from TagFactory.
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Checks equality based on tag name.
      * 
@@ -61,6 +61,15 @@ public abstract class User {
         this.userTags.add(tag);
     }
 
+    /**
+     * Removes a tag from the user's managed list.
+     * 
+     * @param tag the tag to remove.
+     */
+    public void removeUserTag(Tag tag) {
+        this.userTags.remove(tag);
+    }
+
     // Getters
     /**
      * Gets the unique identifier of the user.
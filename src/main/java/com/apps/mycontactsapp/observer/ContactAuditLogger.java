@@ -51,4 +51,44 @@ public class ContactAuditLogger implements ContactObserver {
                 " at " + LocalDateTime.now());
     }
 
+    /**
+     * Called when a tag is added to a batch of contacts.
+     * Logs a single line for the whole batch.
+     * 
+     * @param contacts the tagged contacts.
+     * @param tag      the added tag.
+     */
+    @Override
+    public void onContactsTagged(java.util.Collection<Contact> contacts, com.apps.mycontactsapp.model.Tag tag) {
+        System.out.println("[AUDIT LOG] Tag Added: '" + tag.getName() + "' to " + contacts.size() + " contacts" +
+                " at " + LocalDateTime.now());
+    }
+
+    /**
+     * Called when a tag is removed from a batch of contacts.
+     * Logs a single line for the whole batch.
+     * 
+     * @param contacts the untagged contacts.
+     * @param tag      the removed tag.
+     */
+    @Override
+    public void onContactsUntagged(java.util.Collection<Contact> contacts, com.apps.mycontactsapp.model.Tag tag) {
+        System.out.println("[AUDIT LOG] Tag Removed: '" + tag.getName() + "' from " + contacts.size() + " contacts" +
+                " at " + LocalDateTime.now());
+    }
+
+    /**
+     * Called when a tag is renamed or merged.
+     * Logs a single line for the whole batch.
+     * 
+     * @param contacts the contacts that carried the old tag.
+     * @param from     the old tag.
+     * @param to       the new tag.
+     */
+    @Override
+    public void onTagRenamed(java.util.Collection<Contact> contacts, com.apps.mycontactsapp.model.Tag from,
+            com.apps.mycontactsapp.model.Tag to) {
+        System.out.println("[AUDIT LOG] Tag Renamed: '" + from.getName() + "' -> '" + to.getName() + "' on " +
+                contacts.size() + " contacts at " + LocalDateTime.now());
+    }
 }
@@ -32,4 +32,47 @@ public interface ContactObserver {
      */
     default void onContactUntagged(Contact contact, com.apps.mycontactsapp.model.Tag tag) {
     }
+
+    /**
+     * Called once when a tag is added to a batch of contacts.
+     * Defaults to {@link #onContactTagged(Contact, com.apps.mycontactsapp.model.Tag)}
+     * per contact.
+     * 
+     * @param contacts the contacts that were tagged.
+     * @param tag      the tag added.
+     */
+    default void onContactsTagged(java.util.Collection<Contact> contacts, com.apps.mycontactsapp.model.Tag tag) {
+        for (Contact contact : contacts) {
+            onContactTagged(contact, tag);
+        }
+    }
+
+    /**
+     * Called once when a tag is removed from a batch of contacts.
+     * Defaults to {@link #onContactUntagged(Contact, com.apps.mycontactsapp.model.Tag)}
+     * per contact.
+     * 
+     * @param contacts the contacts that were untagged.
+     * @param tag      the tag removed.
+     */
+    default void onContactsUntagged(java.util.Collection<Contact> contacts, com.apps.mycontactsapp.model.Tag tag) {
+        for (Contact contact : contacts) {
+            onContactUntagged(contact, tag);
+        }
+    }
+
+    /**
+     * Called once when a tag is renamed, or merged into another, on a batch of
+     * contacts. Defaults to an untag event for the old tag followed by a tag
+     * event for the new one.
+     * 
+     * @param contacts the contacts that carried the old tag.
+     * @param from     the old tag.
+     * @param to       the tag it was renamed or merged into.
+     */
+    default void onTagRenamed(java.util.Collection<Contact> contacts, com.apps.mycontactsapp.model.Tag from,
+            com.apps.mycontactsapp.model.Tag to) {
+        onContactsUntagged(contacts, from);
+        onContactsTagged(contacts, to);
+    }
 }
@@ -0,0 +1,90 @@
+package com.apps.mycontactsapp.query;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.specification.Specification;
+
+/**
+ * Executable plan for a contact search, produced by {@link QueryPlanner}.
+ *
+ * A plan either names a candidate set already fetched from the indexes or
+ * asks for a full scan, followed by an ordered list of residual checks that
+ * each candidate must pass. A contact matches the original specification
+ * exactly when it is a candidate and passes every residual check.
+ */
+public class QueryPlan {
+    private final Collection<Contact> candidates;
+    private final List<Specification<Contact>> residualChecks;
+    private final String explanation;
+
+    QueryPlan(Collection<Contact> candidates, List<Specification<Contact>> residualChecks, String explanation) {
+        this.candidates = candidates;
+        this.residualChecks = List.copyOf(residualChecks);
+        this.explanation = explanation;
+    }
+
+    /**
+     * Checks whether the plan starts from an index candidate set.
+     *
+     * @return true if indexed, false if the plan needs a full scan.
+     */
+    public boolean isIndexed() {
+        return candidates != null;
+    }
+
+    /**
+     * Gets the candidate contacts fetched from the indexes.
+     *
+     * @return the candidates, or null if the plan needs a full scan.
+     */
+    public Collection<Contact> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Gets the residual checks, cheapest and most selective first.
+     *
+     * @return an unmodifiable list of checks.
+     */
+    public List<Specification<Contact>> getResidualChecks() {
+        return residualChecks;
+    }
+
+    /**
+     * Applies the residual checks to a candidate, stopping at the first that
+     * fails.
+     *
+     * @param contact the candidate.
+     * @return true if the candidate passes every check.
+     */
+    public boolean matches(Contact contact) {
+        for (Specification<Contact> check : residualChecks) {
+            if (!check.isSatisfiedBy(contact)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Describes the chosen plan: where candidates come from, how many each
+     * index lookup produced, and the order of the residual checks.
+     *
+     * @return a multi-line description.
+     */
+    public String explain() {
+        return explanation;
+    }
+
+    /**
+     * Returns the plan description.
+     *
+     * @return the same text as {@link #explain()}.
+     */
+    @Override
+    public String toString() {
+        return explanation;
+    }
+}
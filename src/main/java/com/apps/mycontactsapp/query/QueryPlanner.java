@@ -0,0 +1,367 @@
+package com.apps.mycontactsapp.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import com.apps.mycontactsapp.index.ContactIndexes;
+import com.apps.mycontactsapp.index.EmailAddressIndex;
+import com.apps.mycontactsapp.index.NameTrigramIndex;
+import com.apps.mycontactsapp.index.PhoneNumberIndex;
+import com.apps.mycontactsapp.index.TagBitmapIndex;
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.specification.AndSpecification;
+import com.apps.mycontactsapp.specification.EmailAddressSpecification;
+import com.apps.mycontactsapp.specification.NameContainsSpecification;
+import com.apps.mycontactsapp.specification.NotSpecification;
+import com.apps.mycontactsapp.specification.OrSpecification;
+import com.apps.mycontactsapp.specification.PhoneNumberSpecification;
+import com.apps.mycontactsapp.specification.Specification;
+import com.apps.mycontactsapp.specification.TagSpecification;
+
+/**
+ * Compiles a Specification tree into a {@link QueryPlan} against the available
+ * contact indexes.
+ *
+ * Nested AND and OR nodes are flattened first. Indexable leaves (name, phone,
+ * email, tag) are answered by index lookups. AND nodes intersect their
+ * candidate sets smallest first and subtract exactly indexed NOT children; OR
+ * nodes union their children when every child is indexable. Anything the
+ * indexes cannot answer exactly becomes a residual check, ordered so that
+ * cheap, selective checks run first. Without any usable index the plan is a
+ * full scan with the same ordered checks.
+ */
+public class QueryPlanner {
+    // An indexed AND child much larger than the running candidate set is
+    // cheaper to check per candidate than to intersect.
+    private static final int INTERSECT_RATIO = 8;
+    private static final double UNKNOWN_PASS_RATE = 0.5;
+
+    private final ContactIndexes indexes;
+
+    /**
+     * Creates a planner.
+     *
+     * @param indexes the indexes to plan against, or null if there are none.
+     */
+    public QueryPlanner(ContactIndexes indexes) {
+        this.indexes = indexes;
+    }
+
+    /**
+     * Plans a search. Index lookups are performed while planning, so the
+     * returned plan carries its candidate set.
+     *
+     * @param spec the search criteria.
+     * @return the plan.
+     */
+    public QueryPlan plan(Specification<Contact> spec) {
+        StringBuilder explain = new StringBuilder("Plan for: ").append(spec).append('\n');
+        Access access = access(spec);
+        List<Check> checks;
+        Collection<Contact> candidates = null;
+        if (access != null) {
+            candidates = access.candidates.values();
+            checks = access.residual;
+            explain.append("  Candidates:\n");
+            access.describe(explain, 2);
+        } else {
+            checks = new ArrayList<>();
+            for (Specification<Contact> child : flatten(spec, AndSpecification.class)) {
+                checks.add(new Check(child, UNKNOWN_PASS_RATE));
+            }
+            explain.append("  Candidates: full scan\n");
+        }
+        checks.sort(Comparator.comparingDouble(Check::rank));
+
+        List<Specification<Contact>> residual = new ArrayList<>(checks.size());
+        explain.append(checks.isEmpty() ? "  Residual checks: none\n" : "  Residual checks (in order):\n");
+        for (int i = 0; i < checks.size(); i++) {
+            Check check = checks.get(i);
+            residual.add(check.spec);
+            explain.append(String.format(Locale.ROOT, "    %d. %s [cost %d, est. pass %.2f]%n",
+                    i + 1, check.spec, check.cost, check.passRate));
+        }
+        return new QueryPlan(candidates, residual, explain.toString());
+    }
+
+    /**
+     * Estimates the relative per-contact cost of evaluating a specification.
+     *
+     * @param spec the specification.
+     * @return the estimated cost.
+     */
+    static int cost(Specification<Contact> spec) {
+        if (spec instanceof NameContainsSpecification) {
+            return 2;
+        }
+        if (spec instanceof PhoneNumberSpecification) {
+            return 3;
+        }
+        if (spec instanceof EmailAddressSpecification) {
+            return 4;
+        }
+        if (spec instanceof TagSpecification) {
+            return 5;
+        }
+        if (spec instanceof AndSpecification) {
+            AndSpecification<Contact> and = (AndSpecification<Contact>) spec;
+            return cost(and.getFirst()) + cost(and.getSecond());
+        }
+        if (spec instanceof OrSpecification) {
+            OrSpecification<Contact> or = (OrSpecification<Contact>) spec;
+            return cost(or.getFirst()) + cost(or.getSecond());
+        }
+        if (spec instanceof NotSpecification) {
+            return cost(((NotSpecification<Contact>) spec).getSpec());
+        }
+        return 8;
+    }
+
+    private Access access(Specification<Contact> spec) {
+        if (spec instanceof AndSpecification) {
+            return accessAnd(spec);
+        }
+        if (spec instanceof OrSpecification) {
+            return accessOr(spec);
+        }
+        if (spec instanceof NotSpecification) {
+            return null;
+        }
+        return accessLeaf(spec);
+    }
+
+    private Access accessAnd(Specification<Contact> spec) {
+        List<Access> indexed = new ArrayList<>();
+        List<Access> negated = new ArrayList<>();
+        List<Check> residual = new ArrayList<>();
+        List<Specification<Contact>> unindexed = new ArrayList<>();
+        for (Specification<Contact> child : flatten(spec, AndSpecification.class)) {
+            Access access = child instanceof NotSpecification
+                    ? access(((NotSpecification<Contact>) child).getSpec())
+                    : access(child);
+            if (access != null && child instanceof NotSpecification) {
+                if (access.isExact()) {
+                    negated.add(access);
+                } else {
+                    unindexed.add(child);
+                }
+            } else if (access != null) {
+                indexed.add(access);
+            } else {
+                unindexed.add(child);
+            }
+        }
+        if (indexed.isEmpty()) {
+            return null;
+        }
+        indexed.sort(Comparator.comparingInt(a -> a.candidates.size()));
+
+        Access result = new Access(spec, "Intersect", new LinkedHashMap<>(indexed.get(0).candidates));
+        for (Access access : indexed) {
+            boolean intersect = access == indexed.get(0)
+                    || access.candidates.size() <= (long) result.candidates.size() * INTERSECT_RATIO;
+            if (intersect) {
+                if (access != indexed.get(0)) {
+                    result.candidates.keySet().retainAll(access.candidates.keySet());
+                }
+                result.children.add(access);
+                if (!access.isExact()) {
+                    residual.add(new Check(access.spec, 1.0));
+                }
+            } else {
+                double passRate = Math.min(1.0, access.candidates.size() / (double) Math.max(1,
+                        result.candidates.size()));
+                residual.add(new Check(access.spec, passRate));
+                result.skipped.add(access);
+            }
+        }
+        for (Access access : negated) {
+            result.candidates.keySet().removeAll(access.candidates.keySet());
+            access.label = "Minus " + access.label;
+            result.children.add(access);
+        }
+        for (Specification<Contact> child : unindexed) {
+            residual.add(new Check(child, UNKNOWN_PASS_RATE));
+        }
+        result.residual = residual;
+        return result;
+    }
+
+    private Access accessOr(Specification<Contact> spec) {
+        Access result = new Access(spec, "Union", new LinkedHashMap<>());
+        boolean exact = true;
+        for (Specification<Contact> child : flatten(spec, OrSpecification.class)) {
+            Access access = access(child);
+            if (access == null) {
+                return null;
+            }
+            result.candidates.putAll(access.candidates);
+            result.children.add(access);
+            exact &= access.isExact();
+        }
+        if (!exact) {
+            result.residual.add(new Check(spec, 1.0));
+        }
+        return result;
+    }
+
+    private Access accessLeaf(Specification<Contact> spec) {
+        if (indexes == null) {
+            return null;
+        }
+        Collection<Contact> hits = null;
+        String indexName = null;
+        boolean exact = true;
+        if (spec instanceof NameContainsSpecification) {
+            String namePart = ((NameContainsSpecification) spec).getNamePart();
+            hits = indexes.get(NameTrigramIndex.class).map(i -> i.candidates(namePart)).orElse(null);
+            indexName = NameTrigramIndex.class.getSimpleName();
+            exact = false;
+        } else if (spec instanceof PhoneNumberSpecification) {
+            PhoneNumberSpecification phoneSpec = (PhoneNumberSpecification) spec;
+            hits = indexes.get(PhoneNumberIndex.class).map(i -> phoneLookup(i, phoneSpec)).orElse(null);
+            indexName = PhoneNumberIndex.class.getSimpleName();
+        } else if (spec instanceof EmailAddressSpecification) {
+            EmailAddressSpecification emailSpec = (EmailAddressSpecification) spec;
+            hits = indexes.get(EmailAddressIndex.class).map(i -> emailLookup(i, emailSpec)).orElse(null);
+            indexName = EmailAddressIndex.class.getSimpleName();
+        } else if (spec instanceof TagSpecification) {
+            TagSpecification tagSpec = (TagSpecification) spec;
+            hits = indexes.get(TagBitmapIndex.class).map(i -> tagLookup(i, tagSpec)).orElse(null);
+            indexName = TagBitmapIndex.class.getSimpleName();
+        }
+        if (hits == null) {
+            return null;
+        }
+        Map<UUID, Contact> candidates = new LinkedHashMap<>();
+        for (Contact contact : hits) {
+            candidates.put(contact.getId(), contact);
+        }
+        Access access = new Access(spec, "IndexLookup " + spec + " via " + indexName, candidates);
+        if (!exact) {
+            access.residual.add(new Check(spec, 1.0));
+        }
+        return access;
+    }
+
+    private static Collection<Contact> phoneLookup(PhoneNumberIndex index, PhoneNumberSpecification spec) {
+        String digits = spec.getDigits();
+        if (digits == null || digits.trim().isEmpty()) {
+            return null;
+        }
+        switch (spec.getMatch()) {
+            case EQUALS:
+                return index.equalTo(digits);
+            case STARTS_WITH:
+                return index.startingWith(digits);
+            case ENDS_WITH:
+                return index.endingWith(digits);
+            case CONTAINS:
+            default:
+                return index.containing(digits);
+        }
+    }
+
+    private static Collection<Contact> emailLookup(EmailAddressIndex index, EmailAddressSpecification spec) {
+        if (spec.getValue().isEmpty() || spec.getMatch() == EmailAddressSpecification.Match.CONTAINS) {
+            return null;
+        }
+        if (spec.getMatch() == EmailAddressSpecification.Match.DOMAIN) {
+            return index.inDomain(spec.getValue());
+        }
+        return index.withLocalPartPrefix(spec.getValue());
+    }
+
+    private static Collection<Contact> tagLookup(TagBitmapIndex index, TagSpecification spec) {
+        String text = spec.getText();
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        if (spec.getMatch() == TagSpecification.Match.EQUALS) {
+            return index.matching(List.of(text), List.of());
+        }
+        return index.withTagMatching(spec::matches);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Specification<Contact>> flatten(Specification<Contact> spec, Class<?> combinator) {
+        List<Specification<Contact>> result = new ArrayList<>();
+        if (combinator.isInstance(spec)) {
+            Specification<Contact> first;
+            Specification<Contact> second;
+            if (spec instanceof AndSpecification) {
+                first = ((AndSpecification<Contact>) spec).getFirst();
+                second = ((AndSpecification<Contact>) spec).getSecond();
+            } else {
+                first = ((OrSpecification<Contact>) spec).getFirst();
+                second = ((OrSpecification<Contact>) spec).getSecond();
+            }
+            result.addAll(flatten(first, combinator));
+            result.addAll(flatten(second, combinator));
+        } else {
+            result.add(spec);
+        }
+        return result;
+    }
+
+    /**
+     * Candidate set produced for one node of the specification tree, with the
+     * checks still needed to make it exact.
+     */
+    private static final class Access {
+        private final Specification<Contact> spec;
+        private final Map<UUID, Contact> candidates;
+        private final List<Access> children = new ArrayList<>();
+        private final List<Access> skipped = new ArrayList<>();
+        private List<Check> residual = new ArrayList<>();
+        private String label;
+
+        private Access(Specification<Contact> spec, String label, Map<UUID, Contact> candidates) {
+            this.spec = spec;
+            this.label = label;
+            this.candidates = candidates;
+        }
+
+        private boolean isExact() {
+            return residual.isEmpty();
+        }
+
+        private void describe(StringBuilder out, int depth) {
+            out.append("  ".repeat(depth)).append(label).append(" -> ").append(candidates.size())
+                    .append(isExact() ? "\n" : " (superset)\n");
+            for (Access child : children) {
+                child.describe(out, depth + 1);
+            }
+            for (Access child : skipped) {
+                out.append("  ".repeat(depth + 1)).append("Skipped ").append(child.label).append(" -> ")
+                        .append(child.candidates.size()).append(" (checked per candidate instead)\n");
+            }
+        }
+    }
+
+    /**
+     * A residual predicate with its estimated cost and pass rate.
+     */
+    private static final class Check {
+        private final Specification<Contact> spec;
+        private final int cost;
+        private final double passRate;
+
+        private Check(Specification<Contact> spec, double passRate) {
+            this.spec = spec;
+            this.cost = cost(spec);
+            this.passRate = passRate;
+        }
+
+        // Classic ordering for conjunctive predicates: cost per contact rejected.
+        private double rank() {
+            return cost / Math.max(0.01, 1.0 - passRate);
+        }
+    }
+}
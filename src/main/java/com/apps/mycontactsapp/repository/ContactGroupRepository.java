@@ -3,6 +3,7 @@ package com.apps.mycontactsapp.repository;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import com.apps.mycontactsapp.composite.ContactGroup;
 
@@ -41,6 +42,16 @@ public interface ContactGroupRepository {
      */
     List<ContactGroup> findAll();
 
+    /**
+     * Streams all groups lazily, without first copying them into a list.
+     * Defaults to streaming over {@link #findAll()}.
+     *
+     * @return a stream of all contact groups.
+     */
+    default Stream<ContactGroup> streamAll() {
+        return findAll().stream();
+    }
+
     /**
      * Deletes a group.
      *
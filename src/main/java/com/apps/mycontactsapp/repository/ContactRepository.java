@@ -1,10 +1,14 @@
 package com.apps.mycontactsapp.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import com.apps.mycontactsapp.index.ContactIndexes;
 import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.Tag;
 
 /**
  * Repository interface for Contact entities.
@@ -17,6 +21,18 @@ public interface ContactRepository {
      */
     void save(Contact contact);
 
+    /**
+     * Saves a batch of contacts. Defaults to saving them one at a time;
+     * implementations can apply the batch in a single pass.
+     * 
+     * @param contacts the contacts to save.
+     */
+    default void saveAll(Collection<Contact> contacts) {
+        for (Contact contact : contacts) {
+            save(contact);
+        }
+    }
+
     /**
      * Finds a contact by its unique ID.
      * 
@@ -57,6 +73,30 @@ public interface ContactRepository {
      */
     List<Contact> findByUserId(Long userId, boolean includeInactive);
 
+    /**
+     * Streams all contacts lazily, without first copying them into a list.
+     * Defaults to streaming over {@link #findAll(boolean)}.
+     * 
+     * @param includeInactive whether to include soft-deleted contacts.
+     * @return a stream of contacts; close it if the implementation holds
+     *         resources.
+     */
+    default Stream<Contact> streamAll(boolean includeInactive) {
+        return findAll(includeInactive).stream();
+    }
+
+    /**
+     * Streams the contacts of one owner lazily, without first copying them into
+     * a list. Defaults to streaming over {@link #findByUserId(Long, boolean)}.
+     * 
+     * @param userId          the ID of the owner.
+     * @param includeInactive whether to include soft-deleted contacts.
+     * @return a stream of the owner's contacts.
+     */
+    default Stream<Contact> streamByUserId(Long userId, boolean includeInactive) {
+        return findByUserId(userId, includeInactive).stream();
+    }
+
     /**
      * Deletes a contact (soft delete usually, depends on implementation).
      * 
@@ -66,15 +106,80 @@ public interface ContactRepository {
 
     /**
      * Permanently deletes a contact.
+     * The contact's tags are left untouched, so observers told about the
+     * deletion still see them; the caller then releases the tag references
+     * with {@link Contact#releaseTags()}. A dropped contact nobody releases
+     * gives them back once it becomes unreachable.
      * 
      * @param contact the contact to hard delete.
      */
     void hardDelete(Contact contact);
 
     /**
-     * Deletes all contacts for a specific user.
+     * Deletes all contacts for a specific user. As with
+     * {@link #hardDelete(Contact)}, the caller releases their tag references.
      * 
      * @param userId the ID of the user.
      */
     void deleteByUserId(Long userId);
+
+    /**
+     * Persists a tag that has just been added to a contact.
+     * Defaults to saving the whole contact; implementations that journal
+     * changes can record just the tag.
+     * 
+     * @param contact the tagged contact.
+     * @param tag     the tag that was added.
+     */
+    default void saveTag(Contact contact, Tag tag) {
+        save(contact);
+    }
+
+    /**
+     * Persists a tag that has just been removed from a contact.
+     * Defaults to saving the whole contact; implementations that journal
+     * changes can record just the tag.
+     * 
+     * @param contact the untagged contact.
+     * @param tag     the tag that was removed.
+     */
+    default void deleteTag(Contact contact, Tag tag) {
+        save(contact);
+    }
+
+    /**
+     * Persists a tag that has just been added to a batch of contacts.
+     * Defaults to {@link #saveTag(Contact, Tag)} per contact.
+     * 
+     * @param contacts the tagged contacts.
+     * @param tag      the tag that was added.
+     */
+    default void saveTags(Collection<Contact> contacts, Tag tag) {
+        for (Contact contact : contacts) {
+            saveTag(contact, tag);
+        }
+    }
+
+    /**
+     * Persists a tag that has just been removed from a batch of contacts.
+     * Defaults to {@link #deleteTag(Contact, Tag)} per contact.
+     * 
+     * @param contacts the untagged contacts.
+     * @param tag      the tag that was removed.
+     */
+    default void deleteTags(Collection<Contact> contacts, Tag tag) {
+        for (Contact contact : contacts) {
+            deleteTag(contact, tag);
+        }
+    }
+
+    /**
+     * Gets the secondary indexes kept in sync with this repository, if any.
+     * Search code may use them to narrow candidates before verifying each one.
+     * 
+     * @return an Optional containing the indexes, empty if none are maintained.
+     */
+    default Optional<ContactIndexes> indexes() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,188 @@
+package com.apps.mycontactsapp.repository.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import com.apps.mycontactsapp.exceptions.ValidationException;
+import com.apps.mycontactsapp.factory.TagFactory;
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.ContactVersion;
+import com.apps.mycontactsapp.model.EmailAddress;
+import com.apps.mycontactsapp.model.Organization;
+import com.apps.mycontactsapp.model.Organization.OrganizationVersion;
+import com.apps.mycontactsapp.model.Person;
+import com.apps.mycontactsapp.model.Person.PersonVersion;
+import com.apps.mycontactsapp.model.PhoneNumber;
+import com.apps.mycontactsapp.model.Tag;
+
+/**
+ * Binary encoding of Contact state shared by the file-backed repositories.
+ *
+ * Layout: kind, id, owner, creation time, active flag, access count, name,
+ * kind-specific fields, phone numbers, email addresses, and tag names with
+ * their assignment times.
+ */
+final class ContactRecordCodec {
+
+    private static final byte KIND_PERSON = 1;
+    private static final byte KIND_ORGANIZATION = 2;
+
+    private ContactRecordCodec() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Encodes a contact into a new byte array.
+     *
+     * @param contact the contact to encode.
+     * @return the encoded bytes.
+     */
+    static byte[] encode(Contact contact) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, contact);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a contact to the given output.
+     *
+     * @param out     the output to write to.
+     * @param contact the contact to write.
+     * @throws IOException if writing fails.
+     */
+    static void write(DataOutput out, Contact contact) throws IOException {
+        // One version, so the record is never torn by a concurrent write
+        ContactVersion state = contact.getVersion();
+        out.writeByte(state instanceof OrganizationVersion ? KIND_ORGANIZATION : KIND_PERSON);
+        writeUuid(out, contact.getId());
+        out.writeLong(contact.getUserId());
+        LocalDateTime createdAt = contact.getCreatedAt();
+        out.writeLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(createdAt.getNano());
+        out.writeBoolean(state.isActive());
+        out.writeInt(state.getAccessCount());
+        writeNullable(out, state.getName());
+        if (state instanceof OrganizationVersion) {
+            OrganizationVersion organization = (OrganizationVersion) state;
+            writeNullable(out, organization.getWebsite());
+            writeNullable(out, organization.getDepartment());
+        } else {
+            PersonVersion person = (PersonVersion) state;
+            writeNullable(out, person.getFirstName());
+            writeNullable(out, person.getLastName());
+        }
+
+        out.writeShort(state.getPhoneNumbers().size());
+        for (PhoneNumber p : state.getPhoneNumbers()) {
+            writeNullable(out, p.getLabel());
+            out.writeUTF(p.getNumber());
+        }
+        out.writeShort(state.getEmailAddresses().size());
+        for (EmailAddress e : state.getEmailAddresses()) {
+            writeNullable(out, e.getLabel());
+            out.writeUTF(e.getEmail());
+        }
+        // Tags evicted since the version was read are skipped, so resolve first
+        Tag[] tags = new Tag[state.getTagCount()];
+        int count = 0;
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = TagFactory.findTagById(state.getTagId(i));
+            if (tags[i] != null) {
+                count++;
+            }
+        }
+        out.writeShort(count);
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i] != null) {
+                out.writeUTF(tags[i].getName());
+                out.writeLong(state.getTagAssignedAtMillis(i));
+            }
+        }
+    }
+
+    /**
+     * Reads a contact previously written by {@link #write(DataOutput, Contact)}.
+     *
+     * @param in the input to read from.
+     * @return the rebuilt contact.
+     * @throws IOException if reading fails or the record is corrupt.
+     */
+    static Contact read(DataInput in) throws IOException {
+        byte kind = in.readByte();
+        UUID id = readUuid(in);
+        long userId = in.readLong();
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        boolean active = in.readBoolean();
+        int accessCount = in.readInt();
+        String name = readNullable(in);
+        String first = readNullable(in);
+        String second = readNullable(in);
+
+        Contact.ContactBuilder<?, ?> builder;
+        if (kind == KIND_ORGANIZATION) {
+            builder = new Organization.OrganizationBuilder().website(first).department(second).name(name);
+        } else if (kind == KIND_PERSON) {
+            builder = new Person.PersonBuilder().firstName(first).lastName(second);
+        } else {
+            throw new IOException("Unknown contact kind: " + kind);
+        }
+        builder.id(id).userId(userId).createdAt(createdAt).accessCount(accessCount);
+
+        int phones = in.readUnsignedShort();
+        for (int i = 0; i < phones; i++) {
+            builder.addPhoneNumber(readNullable(in), in.readUTF());
+        }
+        int emails = in.readUnsignedShort();
+        for (int i = 0; i < emails; i++) {
+            builder.addEmailAddress(readNullable(in), in.readUTF());
+        }
+
+        Contact contact;
+        try {
+            contact = builder.build();
+            if (name != null && !name.equals(contact.getName())) {
+                contact.setName(name);
+            }
+        } catch (ValidationException e) {
+            throw new IOException("Corrupt contact record " + id + ": " + e.getMessage(), e);
+        }
+        contact.setActive(active);
+
+        int tags = in.readUnsignedShort();
+        for (int i = 0; i < tags; i++) {
+            contact.addTag(in.readUTF(), in.readLong());
+        }
+        return contact;
+    }
+
+    static void writeUuid(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    static UUID readUuid(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,275 @@
+package com.apps.mycontactsapp.repository.file;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary write-ahead log for contact mutations.
+ *
+ * Each record is framed as {@code [length][crc32][type][payload]}. Appends are
+ * buffered in memory and written by a single flusher thread that fsyncs once
+ * per batch (group commit): every record appended while the previous batch
+ * was being synced, or within the commit window, shares the next fsync.
+ * Callers that need durability wait on {@link #awaitDurable(long)}.
+ */
+final class ContactWriteAheadLog implements Closeable {
+
+    static final byte SAVE = 1;
+    static final byte DELETE = 2;
+    static final byte HARD_DELETE = 3;
+    static final byte TAG = 4;
+    static final byte UNTAG = 5;
+    static final byte DELETE_BY_USER = 6;
+
+    private static final int HEADER_BYTES = 8;
+
+    // Upper bound on a frame body, so a garbage length cannot force a huge allocation
+    static final int MAX_FRAME_BYTES = 64 << 20;
+
+    /**
+     * Callback receiving replayed records in log order.
+     */
+    interface RecordHandler {
+        /**
+         * Applies one replayed record.
+         *
+         * @param type    the record type.
+         * @param payload the record payload.
+         * @throws IOException if the payload cannot be decoded.
+         */
+        void apply(byte type, DataInput payload) throws IOException;
+    }
+
+    private final FileChannel channel;
+    private final long groupCommitWindowMillis;
+    private final Thread flusher;
+
+    private final Object lock = new Object();
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long appendedSeq;
+    private long durableSeq;
+    private IOException failure;
+    private boolean closed;
+
+    /**
+     * Opens (or creates) the log file. {@link #replay(RecordHandler)} must be
+     * called before the first append.
+     *
+     * @param file                    the log file.
+     * @param groupCommitWindowMillis how long the flusher waits for more records
+     *                                before syncing a batch.
+     * @throws IOException if the file cannot be opened.
+     */
+    ContactWriteAheadLog(Path file, long groupCommitWindowMillis) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.groupCommitWindowMillis = groupCommitWindowMillis;
+        this.flusher = new Thread(this::flushLoop, "contact-wal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Replays every intact record, then truncates a torn or corrupt tail left by
+     * a crash and starts accepting appends.
+     *
+     * @param handler receives each record in order.
+     * @throws IOException if reading fails or a record cannot be applied.
+     */
+    void replay(RecordHandler handler) throws IOException {
+        long validEnd = 0;
+        long size = channel.size();
+        channel.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        byte[] body;
+        while ((body = readFrame(in, size - validEnd - HEADER_BYTES)) != null) {
+            handler.apply(body[0], new DataInputStream(new ByteArrayInputStream(body, 1, body.length - 1)));
+            validEnd += HEADER_BYTES + body.length;
+        }
+        channel.truncate(validEnd);
+        channel.position(validEnd);
+        flusher.start();
+    }
+
+    /**
+     * Appends a record to the log. The record is not durable until
+     * {@link #awaitDurable(long)} returns for the returned sequence number.
+     *
+     * @param type    the record type.
+     * @param payload the record payload.
+     * @return the sequence number of the record.
+     * @throws UncheckedIOException if the flusher has already failed to write
+     *                              the log.
+     */
+    long append(byte type, byte[] payload) {
+        byte[] frame = frame(type, payload);
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed.");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException(failure);
+            }
+            pending.write(frame, 0, frame.length);
+            appendedSeq++;
+            lock.notifyAll();
+            return appendedSeq;
+        }
+    }
+
+    /**
+     * Blocks until the record with the given sequence number has been synced.
+     *
+     * @param seq the sequence number returned by {@link #append(byte, byte[])}.
+     * @throws UncheckedIOException if the flusher failed to write the log.
+     */
+    void awaitDurable(long seq) {
+        synchronized (lock) {
+            while (durableSeq < seq && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new InterruptedIOException("Interrupted awaiting log sync."));
+                }
+            }
+            if (durableSeq < seq) {
+                throw new UncheckedIOException(failure);
+            }
+        }
+    }
+
+    /**
+     * Flushes pending records, stops the flusher and closes the file.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        if (flusher.isAlive()) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        channel.close();
+    }
+
+    private void flushLoop() {
+        while (true) {
+            byte[] batch;
+            long batchSeq;
+            synchronized (lock) {
+                try {
+                    while (pending.size() == 0 && !closed) {
+                        lock.wait();
+                    }
+                    // Group commit: give concurrent writers a chance to join this batch.
+                    long deadline = System.currentTimeMillis() + groupCommitWindowMillis;
+                    long remaining = groupCommitWindowMillis;
+                    while (!closed && remaining > 0) {
+                        lock.wait(remaining);
+                        remaining = deadline - System.currentTimeMillis();
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                if (pending.size() == 0) {
+                    return;
+                }
+                batch = pending.toByteArray();
+                pending = new ByteArrayOutputStream(batch.length);
+                batchSeq = appendedSeq;
+            }
+
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+
+            synchronized (lock) {
+                durableSeq = batchSeq;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Frames a record as {@code [length][crc32][type][payload]}.
+     *
+     * @param type    the record type.
+     * @param payload the record payload.
+     * @return the framed record.
+     * @throws IllegalArgumentException if the record is longer than replay
+     *                                  accepts.
+     */
+    static byte[] frame(byte type, byte[] payload) {
+        int length = payload.length + 1;
+        if (length > MAX_FRAME_BYTES) {
+            throw new IllegalArgumentException("Record too large to log: " + length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + length);
+        buffer.putInt(length).putInt(0).put(type).put(payload);
+        byte[] frame = buffer.array();
+        buffer.putInt(4, checksum(frame, HEADER_BYTES, length));
+        return frame;
+    }
+
+    /**
+     * Reads the next framed record.
+     *
+     * @param in        the input positioned at a frame boundary.
+     * @param available the most bytes the frame body can span, e.g. what is left
+     *                  of the file after the header; longer frames are torn.
+     * @return the record body (type followed by payload), or null at the end of
+     *         the input or at the first torn or corrupt frame.
+     * @throws IOException if reading fails.
+     */
+    static byte[] readFrame(DataInputStream in, long available) throws IOException {
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length <= 0 || length > MAX_FRAME_BYTES || length > available) {
+                return null;
+            }
+            byte[] body = new byte[length];
+            in.readFully(body);
+            return checksum == checksum(body, 0, body.length) ? body : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
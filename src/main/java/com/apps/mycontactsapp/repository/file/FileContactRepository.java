@@ -0,0 +1,556 @@
+package com.apps.mycontactsapp.repository.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import com.apps.mycontactsapp.factory.TagFactory;
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.ContactVersion;
+import com.apps.mycontactsapp.model.Tag;
+import com.apps.mycontactsapp.repository.ContactRepository;
+import com.apps.mycontactsapp.repository.impl.ConcurrentContactRepository;
+import com.apps.mycontactsapp.util.DateTimeUtil;
+
+/**
+ * Durable, file-backed implementation of ContactRepository.
+ *
+ * Contacts are served from an in-memory {@link ConcurrentContactRepository};
+ * every mutation is first appended to a binary write-ahead log. Log syncs are
+ * batched (group commit), so concurrent writers share one fsync.
+ *
+ * After a configurable number of mutations a snapshot is taken in the
+ * background: the log is rotated to a new generation, the store is written to
+ * a compact snapshot file, and the older log generations are deleted. Writers
+ * are only paused for the rotation itself. On startup the snapshot is loaded
+ * and only the log generations written after it are replayed. Replaying
+ * records that the snapshot already reflects is harmless, since every record
+ * sets state rather than adjusting it.
+ */
+public class FileContactRepository implements ContactRepository, Closeable {
+
+    /**
+     * When a mutating call returns relative to the log sync.
+     */
+    public enum Durability {
+        /** Wait until the mutation's batch has been synced to disk. */
+        GROUP_COMMIT,
+        /** Return once the mutation is queued; it is synced with the next batch. */
+        DEFERRED
+    }
+
+    /** Default time the flusher waits to collect a batch, in milliseconds. */
+    public static final long DEFAULT_GROUP_COMMIT_MILLIS = 2;
+
+    /** Default number of mutations between background snapshots. */
+    public static final long DEFAULT_SNAPSHOT_THRESHOLD = 100_000;
+
+    static final String LOG_PREFIX = "contacts-";
+    static final String LOG_SUFFIX = ".wal";
+    static final String SNAPSHOT_FILE = "contacts.snapshot";
+
+    private final ConcurrentContactRepository store = new ConcurrentContactRepository();
+    private final Path directory;
+    private final Durability durability;
+    private final long groupCommitWindowMillis;
+    private final long snapshotThreshold;
+
+    // Writers hold the read lock while appending and applying a mutation; log
+    // rotation takes the write lock so no mutation straddles two generations.
+    private final ReentrantReadWriteLock rotationLock = new ReentrantReadWriteLock();
+    private ContactWriteAheadLog log;
+    private long generation;
+
+    private final Object snapshotLock = new Object();
+    private final AtomicLong mutationsSinceSnapshot = new AtomicLong();
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "contact-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Opens the repository stored in the given directory, replaying its log.
+     *
+     * @param directory the data directory; created if missing.
+     * @throws IOException if the log cannot be opened or replayed.
+     */
+    public FileContactRepository(Path directory) throws IOException {
+        this(directory, Durability.GROUP_COMMIT, DEFAULT_GROUP_COMMIT_MILLIS);
+    }
+
+    /**
+     * Opens the repository stored in the given directory, replaying its log.
+     *
+     * @param directory               the data directory; created if missing.
+     * @param durability              when mutating calls return.
+     * @param groupCommitWindowMillis how long to collect a batch before syncing.
+     * @throws IOException if the log cannot be opened or replayed.
+     */
+    public FileContactRepository(Path directory, Durability durability, long groupCommitWindowMillis)
+            throws IOException {
+        this(directory, durability, groupCommitWindowMillis, DEFAULT_SNAPSHOT_THRESHOLD);
+    }
+
+    /**
+     * Opens the repository stored in the given directory: loads the latest
+     * snapshot, then replays the log generations written after it.
+     *
+     * @param directory               the data directory; created if missing.
+     * @param durability              when mutating calls return.
+     * @param groupCommitWindowMillis how long to collect a batch before syncing.
+     * @param snapshotThreshold       mutations between background snapshots, or
+     *                                zero to only snapshot on demand.
+     * @throws IOException if the snapshot or log cannot be loaded.
+     */
+    public FileContactRepository(Path directory, Durability durability, long groupCommitWindowMillis,
+            long snapshotThreshold) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.durability = durability;
+        this.groupCommitWindowMillis = groupCommitWindowMillis;
+        this.snapshotThreshold = snapshotThreshold;
+
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        long firstGeneration = Files.exists(snapshotFile) ? ContactSnapshotFile.read(snapshotFile, store::save) : 0;
+        deleteLogsBefore(firstGeneration);
+
+        List<Long> generations = listLogGenerations();
+        this.generation = generations.isEmpty() ? firstGeneration : generations.get(generations.size() - 1);
+        for (long older : generations.subList(0, Math.max(0, generations.size() - 1))) {
+            try (ContactWriteAheadLog olderLog = openLog(older)) {
+                olderLog.replay(this::apply);
+            }
+        }
+        this.log = openLog(generation);
+        this.log.replay(this::apply);
+    }
+
+    /**
+     * Saves or updates a contact.
+     *
+     * @param contact the contact to save.
+     */
+    @Override
+    public void save(Contact contact) {
+        write(ContactWriteAheadLog.SAVE, ContactRecordCodec.encode(contact), () -> store.save(contact));
+    }
+
+    /**
+     * Saves a batch of contacts, waiting for one log sync for the whole batch.
+     *
+     * @param contacts the contacts to save.
+     */
+    @Override
+    public void saveAll(Collection<Contact> contacts) {
+        writeAll(ContactWriteAheadLog.SAVE, contacts, null);
+    }
+
+    /**
+     * Finds a contact by its ID.
+     *
+     * @param id the UUID of the contact.
+     * @return an Optional containing the contact if found.
+     */
+    @Override
+    public Optional<Contact> findById(UUID id) {
+        return store.findById(id);
+    }
+
+    /**
+     * Finds all active contacts.
+     *
+     * @return a list of active contacts.
+     */
+    @Override
+    public List<Contact> findAll() {
+        return store.findAll();
+    }
+
+    /**
+     * Finds all contacts, optionally including inactive ones.
+     *
+     * @param includeInactive true to include inactive contacts.
+     * @return a list of contacts.
+     */
+    @Override
+    public List<Contact> findAll(boolean includeInactive) {
+        return store.findAll(includeInactive);
+    }
+
+    /**
+     * Finds all active contacts for a specific user.
+     *
+     * @param userId the user ID.
+     * @return a list of contacts.
+     */
+    @Override
+    public List<Contact> findByUserId(Long userId) {
+        return store.findByUserId(userId);
+    }
+
+    /**
+     * Finds all contacts for a specific user, optionally including inactive ones.
+     *
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return a list of contacts.
+     */
+    @Override
+    public List<Contact> findByUserId(Long userId, boolean includeInactive) {
+        return store.findByUserId(userId, includeInactive);
+    }
+
+    /**
+     * Streams contacts from the in-memory store.
+     *
+     * @param includeInactive true to include inactive contacts.
+     * @return a lazy stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamAll(boolean includeInactive) {
+        return store.streamAll(includeInactive);
+    }
+
+    /**
+     * Streams the contacts of a user from the in-memory store.
+     *
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return a lazy stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamByUserId(Long userId, boolean includeInactive) {
+        return store.streamByUserId(userId, includeInactive);
+    }
+
+    /**
+     * Soft deletes a contact.
+     *
+     * @param contact the contact to delete.
+     */
+    @Override
+    public void delete(Contact contact) {
+        if (contact != null) {
+            write(ContactWriteAheadLog.DELETE, idPayload(contact.getId(), null), () -> store.delete(contact));
+        }
+    }
+
+    /**
+     * Hard deletes a contact (permanent removal).
+     *
+     * @param contact the contact to hard delete.
+     */
+    @Override
+    public void hardDelete(Contact contact) {
+        if (contact != null) {
+            write(ContactWriteAheadLog.HARD_DELETE, idPayload(contact.getId(), null),
+                    () -> store.hardDelete(contact));
+        }
+    }
+
+    /**
+     * Deletes all contacts belonging to a specific user.
+     *
+     * @param userId the user ID.
+     */
+    @Override
+    public void deleteByUserId(Long userId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(userId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        write(ContactWriteAheadLog.DELETE_BY_USER, bytes.toByteArray(), () -> store.deleteByUserId(userId));
+    }
+
+    /**
+     * Journals a tag added to a contact as a small tag record.
+     *
+     * @param contact the tagged contact.
+     * @param tag     the tag that was added.
+     */
+    @Override
+    public void saveTag(Contact contact, Tag tag) {
+        write(ContactWriteAheadLog.TAG, tagPayload(contact, tag), () -> store.save(contact));
+    }
+
+    /**
+     * Journals a tag removed from a contact as a small untag record.
+     *
+     * @param contact the untagged contact.
+     * @param tag     the tag that was removed.
+     */
+    @Override
+    public void deleteTag(Contact contact, Tag tag) {
+        write(ContactWriteAheadLog.UNTAG, idPayload(contact.getId(), tag.getName()), () -> store.save(contact));
+    }
+
+    /**
+     * Journals a tag added to a batch of contacts, waiting for one log sync for
+     * the whole batch.
+     *
+     * @param contacts the tagged contacts.
+     * @param tag      the tag that was added.
+     */
+    @Override
+    public void saveTags(Collection<Contact> contacts, Tag tag) {
+        writeAll(ContactWriteAheadLog.TAG, contacts, tag);
+    }
+
+    /**
+     * Journals a tag removed from a batch of contacts, waiting for one log sync
+     * for the whole batch.
+     *
+     * @param contacts the untagged contacts.
+     * @param tag      the tag that was removed.
+     */
+    @Override
+    public void deleteTags(Collection<Contact> contacts, Tag tag) {
+        writeAll(ContactWriteAheadLog.UNTAG, contacts, tag);
+    }
+
+    /**
+     * Takes a snapshot now and deletes the log generations it covers.
+     * Writers are blocked only while the log is rotated, not while the
+     * snapshot is written.
+     *
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            ContactWriteAheadLog previous;
+            long nextGeneration;
+            rotationLock.writeLock().lock();
+            try {
+                nextGeneration = generation + 1;
+                ContactWriteAheadLog next = openLog(nextGeneration);
+                next.replay((type, in) -> {
+                });
+                previous = log;
+                log = next;
+                generation = nextGeneration;
+                mutationsSinceSnapshot.set(0);
+            } finally {
+                rotationLock.writeLock().unlock();
+            }
+            previous.close();
+
+            ContactSnapshotFile.write(directory.resolve(SNAPSHOT_FILE), nextGeneration, store.findAll(true));
+            deleteLogsBefore(nextGeneration);
+        }
+    }
+
+    /**
+     * Waits for a running snapshot, syncs outstanding log records and closes
+     * the log.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rotationLock.writeLock().lock();
+        try {
+            log.close();
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a mutation to the current log generation and applies it to the
+     * in-memory store, then waits for the sync if required.
+     */
+    private void write(byte type, byte[] payload, Runnable applyToStore) {
+        rotationLock.readLock().lock();
+        try {
+            // append throws if the log has failed, so the store is only changed
+            // once the record is in the log (and synced, for group commit);
+            // waiting under the read lock keeps a rotation from snapshotting
+            // the store between the two
+            long seq = log.append(type, payload);
+            if (durability == Durability.GROUP_COMMIT) {
+                log.awaitDurable(seq);
+            }
+            applyToStore.run();
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        countMutations(1);
+    }
+
+    // Journals one SAVE, or one TAG/UNTAG of the given tag, per contact
+    private void writeAll(byte type, Collection<Contact> contacts, Tag tag) {
+        if (contacts.isEmpty()) {
+            return;
+        }
+        rotationLock.readLock().lock();
+        try {
+            long seq = 0;
+            for (Contact contact : contacts) {
+                byte[] payload;
+                if (tag == null) {
+                    payload = ContactRecordCodec.encode(contact);
+                } else if (type == ContactWriteAheadLog.TAG) {
+                    payload = tagPayload(contact, tag);
+                } else {
+                    payload = idPayload(contact.getId(), tag.getName());
+                }
+                seq = log.append(type, payload);
+            }
+            if (durability == Durability.GROUP_COMMIT) {
+                log.awaitDurable(seq);
+            }
+            for (Contact contact : contacts) {
+                store.save(contact);
+            }
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        countMutations(contacts.size());
+    }
+
+    private void countMutations(int count) {
+        if (snapshotThreshold > 0 && mutationsSinceSnapshot.addAndGet(count) >= snapshotThreshold
+                && snapshotScheduled.compareAndSet(false, true)) {
+            snapshotExecutor.execute(() -> {
+                try {
+                    snapshot();
+                } catch (IOException e) {
+                    System.err.println("[SNAPSHOT] Failed to write contact snapshot: " + e.getMessage());
+                } finally {
+                    snapshotScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private ContactWriteAheadLog openLog(long logGeneration) throws IOException {
+        return new ContactWriteAheadLog(directory.resolve(LOG_PREFIX + logGeneration + LOG_SUFFIX),
+                groupCommitWindowMillis);
+    }
+
+    private List<Long> listLogGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, LOG_PREFIX + "*" + LOG_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(
+                            name.substring(LOG_PREFIX.length(), name.length() - LOG_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // Not one of our log files
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private void deleteLogsBefore(long firstGeneration) throws IOException {
+        for (long older : listLogGenerations()) {
+            if (older < firstGeneration) {
+                Files.deleteIfExists(directory.resolve(LOG_PREFIX + older + LOG_SUFFIX));
+            }
+        }
+    }
+
+    /**
+     * Applies one replayed log record to the in-memory store.
+     */
+    private void apply(byte type, DataInput in) throws IOException {
+        switch (type) {
+            case ContactWriteAheadLog.SAVE:
+                store.save(ContactRecordCodec.read(in));
+                break;
+            case ContactWriteAheadLog.DELETE:
+                store.findById(ContactRecordCodec.readUuid(in)).ifPresent(store::delete);
+                break;
+            case ContactWriteAheadLog.HARD_DELETE:
+                store.findById(ContactRecordCodec.readUuid(in)).ifPresent(c -> {
+                    store.hardDelete(c);
+                    c.releaseTags();
+                });
+                break;
+            case ContactWriteAheadLog.TAG: {
+                Optional<Contact> contact = store.findById(ContactRecordCodec.readUuid(in));
+                String tagName = in.readUTF();
+                long assignedAt = in.readLong();
+                contact.ifPresent(c -> c.addTag(tagName, assignedAt));
+                break;
+            }
+            case ContactWriteAheadLog.UNTAG: {
+                Optional<Contact> contact = store.findById(ContactRecordCodec.readUuid(in));
+                String tagName = in.readUTF();
+                contact.ifPresent(c -> c.removeTag(tagName));
+                break;
+            }
+            case ContactWriteAheadLog.DELETE_BY_USER: {
+                long userId = in.readLong();
+                List<Contact> removed = store.findByUserId(userId, true);
+                store.deleteByUserId(userId);
+                removed.forEach(Contact::releaseTags);
+                break;
+            }
+            default:
+                throw new IOException("Unknown log record type: " + type);
+        }
+    }
+
+    // A tag record also keeps the assignment time, so replay does not restamp it
+    private static byte[] tagPayload(Contact contact, Tag tag) {
+        ContactVersion state = contact.getVersion();
+        Tag pooled = TagFactory.findTag(tag.getName());
+        int index = pooled == null ? -1 : state.indexOfTagId(pooled.getId());
+        long assignedAt = index >= 0 ? state.getTagAssignedAtMillis(index) : DateTimeUtil.currentEpochMillis();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(40);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            ContactRecordCodec.writeUuid(out, contact.getId());
+            out.writeUTF(tag.getName());
+            out.writeLong(assignedAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] idPayload(UUID id, String tagName) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            ContactRecordCodec.writeUuid(out, id);
+            if (tagName != null) {
+                out.writeUTF(tagName);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
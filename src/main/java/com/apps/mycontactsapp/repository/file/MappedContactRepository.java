@@ -0,0 +1,470 @@
+package com.apps.mycontactsapp.repository.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.repository.ContactRepository;
+
+/**
+ * ContactRepository that keeps contacts off-heap in memory-mapped segment
+ * files instead of as object graphs on the heap.
+ *
+ * Each segment file holds a fixed number of fixed-size slots, one contact per
+ * slot: a small header (state, active flag, payload length, owner, ID)
+ * followed by the {@link ContactRecordCodec} encoding of the contact. A new
+ * segment is created when the last one is full, and slots freed by
+ * {@link #hardDelete(Contact)} are reused before new ones. The only heap
+ * structures are a primitive UUID-to-slot index and the free-slot list.
+ *
+ * Contacts are materialized lazily: every lookup decodes a fresh
+ * Person/Organization from its slot, so changes made to a returned contact are
+ * only stored once it is saved again. All operations are serialized on this
+ * repository.
+ */
+public class MappedContactRepository implements ContactRepository, Closeable {
+
+    /** Default slot size in bytes, including the header. */
+    public static final int DEFAULT_SLOT_SIZE = 1024;
+
+    /** Default number of slots per segment file (64 MiB segments). */
+    public static final int DEFAULT_SLOTS_PER_SEGMENT = 65536;
+
+    /** Default number of contacts a stream materializes per lock acquisition. */
+    public static final int DEFAULT_STREAM_BATCH_SIZE = 256;
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".dat";
+
+    private static final byte SLOT_FREE = 0;
+    private static final byte SLOT_USED = 1;
+
+    private static final int OFFSET_STATE = 0;
+    private static final int OFFSET_ACTIVE = 1;
+    private static final int OFFSET_LENGTH = 2;
+    private static final int OFFSET_USER_ID = 6;
+    private static final int OFFSET_ID_MSB = 14;
+    private static final int OFFSET_ID_LSB = 22;
+    private static final int HEADER_BYTES = 30;
+
+    private static final class Segment {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private final Path directory;
+    private final int slotSize;
+    private final int slotsPerSegment;
+    private final List<Segment> segments = new ArrayList<>();
+    private final UuidLocationIndex index;
+    private long[] freeSlots = new long[64];
+    private int freeCount;
+    private int nextSlotInLastSegment;
+
+    /**
+     * Opens the segment files in the given directory with default sizing.
+     *
+     * @param directory the data directory; created if missing.
+     * @throws IOException if the segments cannot be opened.
+     */
+    public MappedContactRepository(Path directory) throws IOException {
+        this(directory, DEFAULT_SLOT_SIZE, DEFAULT_SLOTS_PER_SEGMENT);
+    }
+
+    /**
+     * Opens the segment files in the given directory, rebuilding the index and
+     * free list from the slot headers.
+     *
+     * @param directory       the data directory; created if missing.
+     * @param slotSize        bytes per slot; bounds the encoded contact size.
+     * @param slotsPerSegment slots per segment file.
+     * @throws IOException if the segments cannot be opened.
+     */
+    public MappedContactRepository(Path directory, int slotSize, int slotsPerSegment) throws IOException {
+        if (slotSize <= HEADER_BYTES || slotsPerSegment <= 0
+                || (long) slotSize * slotsPerSegment > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid segment geometry.");
+        }
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.slotSize = slotSize;
+        this.slotsPerSegment = slotsPerSegment;
+
+        int segmentCount = 0;
+        while (Files.exists(segmentPath(segmentCount))) {
+            segmentCount++;
+        }
+        this.index = new UuidLocationIndex(Math.max(16, segmentCount * slotsPerSegment / 2));
+        for (int s = 0; s < segmentCount; s++) {
+            Segment segment = openSegment(s);
+            segments.add(segment);
+            int lastUsed = -1;
+            for (int slot = 0; slot < slotsPerSegment; slot++) {
+                int base = slot * slotSize;
+                if (segment.buffer.get(base + OFFSET_STATE) == SLOT_USED) {
+                    index.put(new UUID(segment.buffer.getLong(base + OFFSET_ID_MSB),
+                            segment.buffer.getLong(base + OFFSET_ID_LSB)), location(s, slot));
+                    lastUsed = slot;
+                }
+            }
+            if (s < segmentCount - 1) {
+                for (int slot = 0; slot < slotsPerSegment; slot++) {
+                    if (segment.buffer.get(slot * slotSize + OFFSET_STATE) != SLOT_USED) {
+                        pushFree(location(s, slot));
+                    }
+                }
+            } else {
+                for (int slot = 0; slot < lastUsed; slot++) {
+                    if (segment.buffer.get(slot * slotSize + OFFSET_STATE) != SLOT_USED) {
+                        pushFree(location(s, slot));
+                    }
+                }
+                nextSlotInLastSegment = lastUsed + 1;
+            }
+        }
+    }
+
+    /**
+     * Saves or updates a contact, overwriting its slot in place.
+     *
+     * @param contact the contact to save.
+     * @throws IllegalArgumentException if the encoded contact does not fit in a
+     *                                  slot.
+     */
+    @Override
+    public synchronized void save(Contact contact) {
+        byte[] payload = ContactRecordCodec.encode(contact);
+        if (payload.length > slotSize - HEADER_BYTES) {
+            throw new IllegalArgumentException("Contact " + contact.getId() + " needs " + payload.length
+                    + " bytes but a slot holds " + (slotSize - HEADER_BYTES) + ".");
+        }
+        long location = index.get(contact.getId());
+        if (location < 0) {
+            location = allocateSlot();
+            index.put(contact.getId(), location);
+        }
+        MappedByteBuffer buffer = segments.get(segmentOf(location)).buffer;
+        int base = slotOf(location) * slotSize;
+        buffer.put(base + HEADER_BYTES, payload);
+        buffer.put(base + OFFSET_ACTIVE, (byte) (contact.isActive() ? 1 : 0));
+        buffer.putInt(base + OFFSET_LENGTH, payload.length);
+        buffer.putLong(base + OFFSET_USER_ID, contact.getUserId());
+        buffer.putLong(base + OFFSET_ID_MSB, contact.getId().getMostSignificantBits());
+        buffer.putLong(base + OFFSET_ID_LSB, contact.getId().getLeastSignificantBits());
+        buffer.put(base + OFFSET_STATE, SLOT_USED);
+    }
+
+    /**
+     * Finds a contact by its ID: one index probe plus decoding of its slot.
+     *
+     * @param id the UUID of the contact.
+     * @return an Optional containing a freshly materialized contact if found.
+     */
+    @Override
+    public synchronized Optional<Contact> findById(UUID id) {
+        long location = index.get(id);
+        return location < 0 ? Optional.empty() : Optional.of(materialize(location));
+    }
+
+    /**
+     * Finds all active contacts.
+     *
+     * @return a list of active contacts.
+     */
+    @Override
+    public List<Contact> findAll() {
+        return findAll(false);
+    }
+
+    /**
+     * Finds all contacts, optionally including inactive ones.
+     *
+     * @param includeInactive true to include inactive contacts.
+     * @return a list of contacts.
+     */
+    @Override
+    public synchronized List<Contact> findAll(boolean includeInactive) {
+        return scan(null, includeInactive);
+    }
+
+    /**
+     * Finds all active contacts for a specific user.
+     *
+     * @param userId the user ID.
+     * @return a list of contacts.
+     */
+    @Override
+    public List<Contact> findByUserId(Long userId) {
+        return findByUserId(userId, false);
+    }
+
+    /**
+     * Finds all contacts for a specific user, optionally including inactive ones.
+     * Only slot headers are read for contacts of other users.
+     *
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return a list of contacts.
+     */
+    @Override
+    public synchronized List<Contact> findByUserId(Long userId, boolean includeInactive) {
+        if (userId == null) {
+            return new ArrayList<>();
+        }
+        return scan(userId, includeInactive);
+    }
+
+    /**
+     * Streams contacts lazily, decoding them in batches as the stream is
+     * consumed.
+     *
+     * @param includeInactive true to include inactive contacts.
+     * @return a lazy stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamAll(boolean includeInactive) {
+        return stream(null, includeInactive, DEFAULT_STREAM_BATCH_SIZE);
+    }
+
+    /**
+     * Streams the contacts of a user lazily, decoding them in batches as the
+     * stream is consumed.
+     *
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return a lazy stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamByUserId(Long userId, boolean includeInactive) {
+        if (userId == null) {
+            return Stream.empty();
+        }
+        return stream(userId, includeInactive, DEFAULT_STREAM_BATCH_SIZE);
+    }
+
+    /**
+     * Streams matching contacts lazily. The repository lock is taken once per
+     * batch, so writers can interleave with a long-running stream; a stream
+     * sees each slot as it is when its batch is read.
+     *
+     * @param userId          the owner to filter on, or null for all owners.
+     * @param includeInactive true to include inactive contacts.
+     * @param batchSize       how many contacts to decode per lock acquisition.
+     * @return a lazy stream of contacts.
+     */
+    public Stream<Contact> stream(Long userId, boolean includeInactive, int batchSize) {
+        int batch = Math.max(1, batchSize);
+        Spliterator<Contact> cursor = new Spliterators.AbstractSpliterator<Contact>(Long.MAX_VALUE,
+                Spliterator.NONNULL) {
+            private final ArrayDeque<Contact> buffer = new ArrayDeque<>(batch);
+            private int segment;
+            private int slot;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Contact> action) {
+                if (buffer.isEmpty()) {
+                    synchronized (MappedContactRepository.this) {
+                        while (buffer.size() < batch && segment < segments.size()) {
+                            if (slot >= slotLimit(segment)) {
+                                segment++;
+                                slot = 0;
+                            } else if (matches(segments.get(segment).buffer, slot * slotSize, userId,
+                                    includeInactive)) {
+                                buffer.add(materialize(location(segment, slot++)));
+                            } else {
+                                slot++;
+                            }
+                        }
+                    }
+                }
+                Contact next = buffer.poll();
+                if (next == null) {
+                    return false;
+                }
+                action.accept(next);
+                return true;
+            }
+        };
+        return StreamSupport.stream(cursor, false);
+    }
+
+    /**
+     * Soft deletes a contact.
+     *
+     * @param contact the contact to delete.
+     */
+    @Override
+    public synchronized void delete(Contact contact) {
+        if (contact != null) {
+            contact.setActive(false);
+            save(contact);
+        }
+    }
+
+    /**
+     * Hard deletes a contact, returning its slot to the free list.
+     *
+     * @param contact the contact to hard delete.
+     */
+    @Override
+    public synchronized void hardDelete(Contact contact) {
+        if (contact != null) {
+            long location = index.remove(contact.getId());
+            if (location >= 0) {
+                freeSlot(location);
+            }
+        }
+    }
+
+    /**
+     * Deletes all contacts belonging to a specific user.
+     *
+     * @param userId the user ID.
+     */
+    @Override
+    public synchronized void deleteByUserId(Long userId) {
+        for (int s = 0; s < segments.size(); s++) {
+            MappedByteBuffer buffer = segments.get(s).buffer;
+            for (int slot = 0; slot < slotLimit(s); slot++) {
+                int base = slot * slotSize;
+                if (buffer.get(base + OFFSET_STATE) == SLOT_USED
+                        && buffer.getLong(base + OFFSET_USER_ID) == userId) {
+                    index.remove(new UUID(buffer.getLong(base + OFFSET_ID_MSB), buffer.getLong(base + OFFSET_ID_LSB)));
+                    freeSlot(location(s, slot));
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces all segment changes to disk.
+     */
+    public synchronized void flush() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * Flushes and closes all segment files.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        for (Segment segment : segments) {
+            segment.channel.close();
+        }
+        segments.clear();
+    }
+
+    private List<Contact> scan(Long userId, boolean includeInactive) {
+        List<Contact> result = new ArrayList<>();
+        for (int s = 0; s < segments.size(); s++) {
+            MappedByteBuffer buffer = segments.get(s).buffer;
+            for (int slot = 0; slot < slotLimit(s); slot++) {
+                if (matches(buffer, slot * slotSize, userId, includeInactive)) {
+                    result.add(materialize(location(s, slot)));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean matches(MappedByteBuffer buffer, int base, Long userId, boolean includeInactive) {
+        return buffer.get(base + OFFSET_STATE) == SLOT_USED
+                && (includeInactive || buffer.get(base + OFFSET_ACTIVE) == 1)
+                && (userId == null || buffer.getLong(base + OFFSET_USER_ID) == userId);
+    }
+
+    private Contact materialize(long location) {
+        MappedByteBuffer buffer = segments.get(segmentOf(location)).buffer;
+        int base = slotOf(location) * slotSize;
+        byte[] payload = new byte[buffer.getInt(base + OFFSET_LENGTH)];
+        buffer.get(base + HEADER_BYTES, payload);
+        try {
+            return ContactRecordCodec.read(new DataInputStream(new ByteArrayInputStream(payload)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (segments.isEmpty() || nextSlotInLastSegment == slotsPerSegment) {
+            try {
+                segments.add(openSegment(segments.size()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            nextSlotInLastSegment = 0;
+        }
+        return location(segments.size() - 1, nextSlotInLastSegment++);
+    }
+
+    private void freeSlot(long location) {
+        segments.get(segmentOf(location)).buffer.put(slotOf(location) * slotSize + OFFSET_STATE, SLOT_FREE);
+        pushFree(location);
+    }
+
+    private void pushFree(long location) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = location;
+    }
+
+    private int slotLimit(int segment) {
+        return segment == segments.size() - 1 ? nextSlotInLastSegment : slotsPerSegment;
+    }
+
+    private Segment openSegment(int segment) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slotSize * slotsPerSegment);
+        return new Segment(channel, buffer);
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    private static long location(int segment, int slot) {
+        return ((long) segment << 32) | slot;
+    }
+
+    private static int segmentOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int slotOf(long location) {
+        return (int) location;
+    }
+}
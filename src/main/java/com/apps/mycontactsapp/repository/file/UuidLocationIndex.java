@@ -0,0 +1,147 @@
+package com.apps.mycontactsapp.repository.file;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash map from UUID to a long location, stored in three
+ * parallel primitive arrays so millions of entries cost a few dozen bytes
+ * each instead of a boxed map entry. Not thread-safe.
+ */
+final class UuidLocationIndex {
+
+    private static final long EMPTY = -1L;
+    private static final long DELETED = -2L;
+
+    private long[] msb;
+    private long[] lsb;
+    private long[] locations;
+    private int size;
+    private int used; // live entries plus tombstones
+
+    UuidLocationIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Gets the location stored for an ID.
+     *
+     * @param id the ID to look up.
+     * @return the location, or -1 if absent.
+     */
+    long get(UUID id) {
+        int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return slot < 0 ? EMPTY : locations[slot];
+    }
+
+    /**
+     * Stores the location of an ID, replacing any previous location.
+     *
+     * @param id       the ID.
+     * @param location the non-negative location.
+     */
+    void put(UUID id, long location) {
+        if ((used + 1) * 4L > locations.length * 3L) {
+            allocateAndRehash(size * 4L > locations.length ? locations.length * 2 : locations.length);
+        }
+        long hi = id.getMostSignificantBits();
+        long lo = id.getLeastSignificantBits();
+        int mask = locations.length - 1;
+        int tombstone = -1;
+        for (int i = hash(hi, lo) & mask;; i = (i + 1) & mask) {
+            long current = locations[i];
+            if (current == EMPTY) {
+                int target = tombstone >= 0 ? tombstone : i;
+                if (tombstone < 0) {
+                    used++;
+                }
+                msb[target] = hi;
+                lsb[target] = lo;
+                locations[target] = location;
+                size++;
+                return;
+            }
+            if (current == DELETED) {
+                if (tombstone < 0) {
+                    tombstone = i;
+                }
+            } else if (msb[i] == hi && lsb[i] == lo) {
+                locations[i] = location;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes an ID.
+     *
+     * @param id the ID to remove.
+     * @return the location it had, or -1 if absent.
+     */
+    long remove(UUID id) {
+        int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot < 0) {
+            return EMPTY;
+        }
+        long location = locations[slot];
+        locations[slot] = DELETED;
+        size--;
+        return location;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int find(long hi, long lo) {
+        int mask = locations.length - 1;
+        for (int i = hash(hi, lo) & mask;; i = (i + 1) & mask) {
+            long current = locations[i];
+            if (current == EMPTY) {
+                return -1;
+            }
+            if (current != DELETED && msb[i] == hi && lsb[i] == lo) {
+                return i;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        msb = new long[capacity];
+        lsb = new long[capacity];
+        locations = new long[capacity];
+        Arrays.fill(locations, EMPTY);
+        size = 0;
+        used = 0;
+    }
+
+    private void allocateAndRehash(int capacity) {
+        long[] oldMsb = msb;
+        long[] oldLsb = lsb;
+        long[] oldLocations = locations;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldLocations.length; j++) {
+            if (oldLocations[j] >= 0) {
+                int i = hash(oldMsb[j], oldLsb[j]) & mask;
+                while (locations[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                msb[i] = oldMsb[j];
+                lsb[i] = oldLsb[j];
+                locations[i] = oldLocations[j];
+                size++;
+                used++;
+            }
+        }
+    }
+
+    private static int hash(long hi, long lo) {
+        long h = hi ^ lo;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,500 @@
+package com.apps.mycontactsapp.repository.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import com.apps.mycontactsapp.index.ContactIndexes;
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.Tag;
+import com.apps.mycontactsapp.observer.ContactObserver;
+import com.apps.mycontactsapp.repository.ContactRepository;
+
+/**
+ * Read-through cache of contact lists in front of another ContactRepository.
+ *
+ * Each owner's contacts are loaded once into an immutable snapshot that serves
+ * every later findByUserId/streamByUserId call, active-only or not, until the
+ * set of contacts changes; the all-contacts listing used by admins is cached
+ * the same way. Snapshots hold the live contact objects, so edits made in
+ * place are visible without a reload. A snapshot is dropped when a write adds,
+ * removes, soft-deletes or restores one of its contacts, or replaces it with
+ * a different object; re-saving an unchanged contact, as every view does to
+ * persist its access count, keeps the snapshot. The cache also listens for
+ * deletions as a {@link ContactObserver}, to catch writes made around it.
+ *
+ * Owner snapshots are evicted least recently used first once the cached
+ * contacts, the all-contacts snapshot included, exceed a bound; a listing
+ * larger than the bound on its own is served but not cached. Hit, miss,
+ * eviction and load-time counters are exposed for sizing.
+ */
+public class CachingContactRepository implements ContactRepository, ContactObserver {
+
+    /** Default maximum number of contacts held across owner snapshots. */
+    public static final int DEFAULT_MAX_CACHED_CONTACTS = 100_000;
+
+    private static final class Snapshot {
+        private final List<Contact> all;
+        private final List<Contact> active;
+        private final Map<UUID, Contact> byId;
+        private final Set<UUID> inactiveIds = new HashSet<>();
+
+        private Snapshot(List<Contact> contacts) {
+            List<Contact> activeOnly = new ArrayList<>(contacts.size());
+            this.byId = new HashMap<>(contacts.size() * 2);
+            for (Contact contact : contacts) {
+                byId.put(contact.getId(), contact);
+                if (contact.isActive()) {
+                    activeOnly.add(contact);
+                } else {
+                    inactiveIds.add(contact.getId());
+                }
+            }
+            this.all = List.copyOf(contacts);
+            this.active = List.copyOf(activeOnly);
+        }
+
+        private List<Contact> list(boolean includeInactive) {
+            return includeInactive ? all : active;
+        }
+
+        // True if the snapshot already holds this object in its current state
+        private boolean reflects(Contact contact) {
+            return byId.get(contact.getId()) == contact
+                    && contact.isActive() != inactiveIds.contains(contact.getId());
+        }
+    }
+
+    private final ContactRepository delegate;
+    private final int maxCachedContacts;
+    // Owner snapshots in access order, least recently used first
+    private final LinkedHashMap<Long, Snapshot> byOwner = new LinkedHashMap<>(16, 0.75f, true);
+    private Snapshot allContacts;
+    private int cachedContacts;
+    // Token of the latest load per owner; a write to the owner clears it, so
+    // a load that raced the write is returned but not cached
+    private final Map<Long, Long> pendingLoads = new HashMap<>();
+    private long pendingAllContactsLoad;
+    private long nextLoadToken;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    /**
+     * Wraps a repository with the default bound.
+     *
+     * @param delegate the repository to wrap.
+     */
+    public CachingContactRepository(ContactRepository delegate) {
+        this(delegate, DEFAULT_MAX_CACHED_CONTACTS);
+    }
+
+    /**
+     * Wraps a repository.
+     *
+     * @param delegate          the repository to wrap.
+     * @param maxCachedContacts the maximum number of contacts held across
+     *                          snapshots, the all-contacts one included; a
+     *                          listing with more is not cached.
+     * @throws IllegalArgumentException if the bound is negative.
+     */
+    public CachingContactRepository(ContactRepository delegate, int maxCachedContacts) {
+        if (maxCachedContacts < 0) {
+            throw new IllegalArgumentException("maxCachedContacts must not be negative.");
+        }
+        this.delegate = delegate;
+        this.maxCachedContacts = maxCachedContacts;
+    }
+
+    /**
+     * Saves a contact, dropping the snapshots it changes.
+     *
+     * @param contact the contact to save.
+     */
+    @Override
+    public void save(Contact contact) {
+        delegate.save(contact);
+        invalidateIfChanged(contact);
+    }
+
+    /**
+     * Saves a batch of contacts, dropping the snapshots they change.
+     *
+     * @param contacts the contacts to save.
+     */
+    @Override
+    public void saveAll(Collection<Contact> contacts) {
+        delegate.saveAll(contacts);
+        invalidateIfChanged(contacts);
+    }
+
+    /**
+     * Finds a contact by its ID.
+     *
+     * @param id the UUID of the contact.
+     * @return an Optional containing the contact if found.
+     */
+    @Override
+    public Optional<Contact> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    /**
+     * Finds all active contacts.
+     *
+     * @return an immutable list of contacts.
+     */
+    @Override
+    public List<Contact> findAll() {
+        return findAll(false);
+    }
+
+    /**
+     * Finds all contacts, from the cached snapshot when there is one.
+     *
+     * @param includeInactive true to include inactive contacts.
+     * @return an immutable list of contacts.
+     */
+    @Override
+    public List<Contact> findAll(boolean includeInactive) {
+        return snapshot(null).list(includeInactive);
+    }
+
+    /**
+     * Finds the active contacts of an owner.
+     *
+     * @param userId the user ID.
+     * @return an immutable list of contacts.
+     */
+    @Override
+    public List<Contact> findByUserId(Long userId) {
+        return findByUserId(userId, false);
+    }
+
+    /**
+     * Finds the contacts of an owner, from the cached snapshot when there is
+     * one.
+     *
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return an immutable list of contacts.
+     */
+    @Override
+    public List<Contact> findByUserId(Long userId, boolean includeInactive) {
+        if (userId == null) {
+            return delegate.findByUserId(null, includeInactive);
+        }
+        return snapshot(userId).list(includeInactive);
+    }
+
+    /**
+     * Streams all contacts from the cached snapshot.
+     *
+     * @param includeInactive true to include inactive contacts.
+     * @return a stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamAll(boolean includeInactive) {
+        return findAll(includeInactive).stream();
+    }
+
+    /**
+     * Streams the contacts of an owner from the cached snapshot.
+     *
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return a stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamByUserId(Long userId, boolean includeInactive) {
+        return findByUserId(userId, includeInactive).stream();
+    }
+
+    /**
+     * Soft-deletes a contact and drops its owner's snapshot.
+     *
+     * @param contact the contact to delete.
+     */
+    @Override
+    public void delete(Contact contact) {
+        delegate.delete(contact);
+        invalidate(contact.getUserId());
+    }
+
+    /**
+     * Permanently deletes a contact and drops its owner's snapshot.
+     *
+     * @param contact the contact to hard delete.
+     */
+    @Override
+    public void hardDelete(Contact contact) {
+        delegate.hardDelete(contact);
+        invalidate(contact.getUserId());
+    }
+
+    /**
+     * Deletes all contacts of a user and drops their snapshot.
+     *
+     * @param userId the ID of the user.
+     */
+    @Override
+    public void deleteByUserId(Long userId) {
+        delegate.deleteByUserId(userId);
+        invalidate(userId);
+    }
+
+    /**
+     * Persists an added tag. Tags are edited in place, so the snapshot is kept
+     * unless it holds a different object for the contact.
+     *
+     * @param contact the tagged contact.
+     * @param tag     the tag that was added.
+     */
+    @Override
+    public void saveTag(Contact contact, Tag tag) {
+        delegate.saveTag(contact, tag);
+        invalidateIfChanged(contact);
+    }
+
+    /**
+     * Persists a removed tag. Tags are edited in place, so the snapshot is
+     * kept unless it holds a different object for the contact.
+     *
+     * @param contact the untagged contact.
+     * @param tag     the tag that was removed.
+     */
+    @Override
+    public void deleteTag(Contact contact, Tag tag) {
+        delegate.deleteTag(contact, tag);
+        invalidateIfChanged(contact);
+    }
+
+    /**
+     * Persists a tag added to a batch of contacts.
+     *
+     * @param contacts the tagged contacts.
+     * @param tag      the tag that was added.
+     */
+    @Override
+    public void saveTags(Collection<Contact> contacts, Tag tag) {
+        delegate.saveTags(contacts, tag);
+        invalidateIfChanged(contacts);
+    }
+
+    /**
+     * Persists a tag removed from a batch of contacts.
+     *
+     * @param contacts the untagged contacts.
+     * @param tag      the tag that was removed.
+     */
+    @Override
+    public void deleteTags(Collection<Contact> contacts, Tag tag) {
+        delegate.deleteTags(contacts, tag);
+        invalidateIfChanged(contacts);
+    }
+
+    /**
+     * Gets the indexes of the wrapped repository.
+     *
+     * @return an Optional containing the indexes, if any.
+     */
+    @Override
+    public Optional<ContactIndexes> indexes() {
+        return delegate.indexes();
+    }
+
+    /**
+     * Drops the snapshot of a deleted contact's owner.
+     *
+     * @param contact the deleted contact.
+     */
+    @Override
+    public void onContactDeleted(Contact contact) {
+        invalidate(contact.getUserId());
+    }
+
+    /**
+     * Drops every cached snapshot.
+     */
+    public synchronized void invalidateAll() {
+        pendingLoads.clear();
+        pendingAllContactsLoad = 0;
+        invalidations.add(byOwner.size() + (allContacts == null ? 0 : 1));
+        byOwner.clear();
+        allContacts = null;
+        cachedContacts = 0;
+    }
+
+    /**
+     * Gets how many lookups were served from a snapshot.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets how many lookups had to load from the wrapped repository.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the fraction of lookups served from a snapshot.
+     *
+     * @return the hit ratio, or 0 before the first lookup.
+     */
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * Gets how many owner snapshots were evicted to respect the bound.
+     *
+     * @return the eviction count.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets how many snapshots were dropped because contacts changed.
+     *
+     * @return the invalidation count.
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Gets the average time spent loading a snapshot on a miss.
+     *
+     * @return the mean load time in nanoseconds, or 0 before the first miss.
+     */
+    public long getAverageLoadNanos() {
+        long m = misses.sum();
+        return m == 0 ? 0L : loadNanos.sum() / m;
+    }
+
+    /**
+     * Gets the number of contacts currently held across snapshots, counting
+     * the all-contacts snapshot too.
+     *
+     * @return the cached contact count.
+     */
+    public synchronized int getCachedContactCount() {
+        return cachedContacts;
+    }
+
+    // Gets the snapshot for an owner, or for all contacts if userId is null
+    private Snapshot snapshot(Long userId) {
+        long token;
+        synchronized (this) {
+            Snapshot cached = userId == null ? allContacts : byOwner.get(userId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            token = ++nextLoadToken;
+            if (userId == null) {
+                pendingAllContactsLoad = token;
+            } else {
+                pendingLoads.put(userId, token);
+            }
+        }
+        misses.increment();
+        long start = System.nanoTime();
+        Snapshot loaded = new Snapshot(userId == null ? delegate.findAll(true) : delegate.findByUserId(userId, true));
+        loadNanos.add(System.nanoTime() - start);
+        synchronized (this) {
+            if (userId == null) {
+                if (pendingAllContactsLoad == token) {
+                    pendingAllContactsLoad = 0;
+                    if (loaded.all.size() <= maxCachedContacts) {
+                        dropAllContacts();
+                        allContacts = loaded;
+                        cachedContacts += loaded.all.size();
+                        evictOverflow();
+                    }
+                }
+            } else if (pendingLoads.remove(userId, token) && loaded.all.size() <= maxCachedContacts) {
+                Snapshot replaced = byOwner.put(userId, loaded);
+                cachedContacts += loaded.all.size() - (replaced == null ? 0 : replaced.all.size());
+                evictOverflow();
+            }
+        }
+        return loaded;
+    }
+
+    private void dropAllContacts() {
+        if (allContacts != null) {
+            cachedContacts -= allContacts.all.size();
+            allContacts = null;
+        }
+    }
+
+    // Evicts owner snapshots only; the all-contacts one fits the bound on its own
+    private void evictOverflow() {
+        Iterator<Snapshot> lru = byOwner.values().iterator();
+        while (cachedContacts > maxCachedContacts && lru.hasNext()) {
+            cachedContacts -= lru.next().all.size();
+            lru.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void invalidateIfChanged(Collection<Contact> contacts) {
+        for (Contact contact : contacts) {
+            invalidateIfChanged(contact);
+        }
+    }
+
+    // Drops only the snapshots the contact's current state makes stale
+    private synchronized void invalidateIfChanged(Contact contact) {
+        pendingLoads.remove(contact.getUserId());
+        pendingAllContactsLoad = 0;
+        Snapshot owned = contact.getUserId() == null ? null : byOwner.get(contact.getUserId());
+        if (owned != null && !owned.reflects(contact)) {
+            byOwner.remove(contact.getUserId());
+            cachedContacts -= owned.all.size();
+            invalidations.increment();
+        }
+        if (allContacts != null && !allContacts.reflects(contact)) {
+            dropAllContacts();
+            invalidations.increment();
+        }
+    }
+
+    private synchronized void invalidate(Long userId) {
+        pendingLoads.remove(userId);
+        pendingAllContactsLoad = 0;
+        if (allContacts != null) {
+            dropAllContacts();
+            invalidations.increment();
+        }
+        Snapshot removed = userId == null ? null : byOwner.remove(userId);
+        if (removed != null) {
+            cachedContacts -= removed.all.size();
+            invalidations.increment();
+        }
+    }
+}
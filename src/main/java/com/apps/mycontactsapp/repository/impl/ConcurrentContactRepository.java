@@ -0,0 +1,190 @@
+package com.apps.mycontactsapp.repository.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.apps.mycontactsapp.index.OwnerIndex;
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.repository.ContactRepository;
+
+/**
+ * Thread-safe in-memory implementation of ContactRepository.
+ *
+ * Backed by a {@link ConcurrentHashMap}, which locks per hash bin on writes
+ * and never locks on reads, so independent contacts can be saved and deleted
+ * from many threads at once. Every mutation of a single contact goes through
+ * one atomic map operation, which makes per-contact operations linearizable.
+ * The owner index is updated inside the same atomic operation as the primary
+ * map. Multi-contact reads (findAll, findByUserId) are weakly consistent
+ * snapshots.
+ */
+public class ConcurrentContactRepository implements ContactRepository {
+    private final ConcurrentMap<UUID, Contact> contacts;
+    private final OwnerIndex ownerIndex = new OwnerIndex();
+
+    /**
+     * Creates an empty repository sized for a small number of contacts.
+     */
+    public ConcurrentContactRepository() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty repository pre-sized for the expected number of contacts.
+     *
+     * @param expectedSize the expected number of contacts.
+     */
+    public ConcurrentContactRepository(int expectedSize) {
+        this.contacts = new ConcurrentHashMap<>(expectedSize);
+    }
+
+    /**
+     * Saves or updates a contact.
+     *
+     * @param contact the contact to save.
+     */
+    @Override
+    public void save(Contact contact) {
+        contacts.compute(contact.getId(), (id, existing) -> {
+            ownerIndex.put(contact);
+            return contact;
+        });
+    }
+
+    /**
+     * Finds a contact by its ID. Never blocks.
+     *
+     * @param id the UUID of the contact.
+     * @return an Optional containing the contact if found.
+     */
+    @Override
+    public Optional<Contact> findById(UUID id) {
+        return Optional.ofNullable(contacts.get(id));
+    }
+
+    /**
+     * Finds all active contacts.
+     *
+     * @return a list of active contacts.
+     */
+    @Override
+    public List<Contact> findAll() {
+        return findAll(false);
+    }
+
+    /**
+     * Finds all contacts, optionally including inactive ones.
+     *
+     * @param includeInactive true to include inactive contacts.
+     * @return a list of contacts.
+     */
+    @Override
+    public List<Contact> findAll(boolean includeInactive) {
+        List<Contact> result = new ArrayList<>();
+        for (Contact c : contacts.values()) {
+            if (includeInactive || c.isActive()) {
+                result.add(c);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds all active contacts for a specific user.
+     *
+     * @param userId the user ID.
+     * @return a list of contacts.
+     */
+    @Override
+    public List<Contact> findByUserId(Long userId) {
+        return findByUserId(userId, false);
+    }
+
+    /**
+     * Finds all contacts for a specific user, optionally including inactive ones.
+     *
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return a list of contacts.
+     */
+    @Override
+    public List<Contact> findByUserId(Long userId, boolean includeInactive) {
+        return ownerIndex.find(userId, includeInactive);
+    }
+
+    /**
+     * Streams contacts directly from the backing map, optionally including
+     * inactive ones.
+     * 
+     * @param includeInactive true to include inactive contacts.
+     * @return a lazy stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamAll(boolean includeInactive) {
+        return contacts.values().stream().filter(c -> includeInactive || c.isActive());
+    }
+
+    /**
+     * Streams the contacts of a user directly from the owner index.
+     * 
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return a lazy stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamByUserId(Long userId, boolean includeInactive) {
+        return ownerIndex.stream(userId, includeInactive);
+    }
+
+    /**
+     * Soft deletes a contact.
+     * The flag is flipped inside the map's per-key lock so it cannot interleave
+     * with a concurrent save or hard delete of the same contact.
+     *
+     * @param contact the contact to delete.
+     */
+    @Override
+    public void delete(Contact contact) {
+        if (contact != null) {
+            contacts.compute(contact.getId(), (id, existing) -> {
+                contact.setActive(false);
+                ownerIndex.put(contact);
+                return contact;
+            });
+        }
+    }
+
+    /**
+     * Hard deletes a contact (permanent removal).
+     *
+     * @param contact the contact to hard delete.
+     */
+    @Override
+    public void hardDelete(Contact contact) {
+        if (contact != null) {
+            contacts.computeIfPresent(contact.getId(), (id, existing) -> {
+                ownerIndex.remove(existing);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Deletes all contacts belonging to a specific user.
+     * Each removal is atomic; contacts saved concurrently for the same user may
+     * or may not be removed.
+     *
+     * @param userId the user ID.
+     */
+    @Override
+    public void deleteByUserId(Long userId) {
+        for (Contact contact : ownerIndex.removeOwner(userId)) {
+            contacts.remove(contact.getId(), contact);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.apps.mycontactsapp.repository.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import com.apps.mycontactsapp.index.AccessFrequencyIndex;
+import com.apps.mycontactsapp.index.ContactIndex;
+import com.apps.mycontactsapp.index.ContactIndexes;
+import com.apps.mycontactsapp.index.EmailAddressIndex;
+import com.apps.mycontactsapp.index.NameTrigramIndex;
+import com.apps.mycontactsapp.index.PhoneNumberIndex;
+import com.apps.mycontactsapp.index.SearchResultCache;
+import com.apps.mycontactsapp.index.SortedContactIndex;
+import com.apps.mycontactsapp.index.TagBitmapIndex;
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.Tag;
+import com.apps.mycontactsapp.repository.ContactRepository;
+
+/**
+ * Decorator that keeps a set of secondary indexes in sync with another
+ * ContactRepository.
+ *
+ * Every write is applied to the wrapped repository first and then to the
+ * indexes; reads go straight to the wrapped repository. The indexes are
+ * exposed through {@link #indexes()} so the service layer can use them to
+ * narrow searches.
+ */
+public class IndexedContactRepository implements ContactRepository {
+    private final ContactRepository delegate;
+    private final ContactIndexes indexes = new ContactIndexes();
+
+    /**
+     * Wraps a repository with the default set of indexes.
+     *
+     * @param delegate the repository to wrap.
+     */
+    public IndexedContactRepository(ContactRepository delegate) {
+        this.delegate = delegate;
+        register(new NameTrigramIndex(indexes.contacts()));
+        register(new PhoneNumberIndex(indexes.contacts()));
+        register(new EmailAddressIndex(indexes.contacts()));
+        register(new TagBitmapIndex(indexes.contacts()));
+        register(new AccessFrequencyIndex(indexes.contacts()));
+        register(new SortedContactIndex(indexes.contacts()));
+        register(new SearchResultCache());
+    }
+
+    /**
+     * Registers an additional index, seeding it with every stored contact.
+     * Indexes that resolve ids to contacts should be built over
+     * {@code indexes().get().contacts()}.
+     *
+     * @param index the index to add.
+     */
+    public void register(ContactIndex index) {
+        try (Stream<Contact> all = delegate.streamAll(true)) {
+            indexes.register(index, all);
+        }
+    }
+
+    /**
+     * Gets the indexes maintained by this repository.
+     *
+     * @return an Optional containing the indexes.
+     */
+    @Override
+    public Optional<ContactIndexes> indexes() {
+        return Optional.of(indexes);
+    }
+
+    /**
+     * Saves a contact and re-indexes it.
+     *
+     * @param contact the contact to save.
+     */
+    @Override
+    public void save(Contact contact) {
+        delegate.save(contact);
+        indexes.put(contact);
+    }
+
+    /**
+     * Saves a batch of contacts and re-indexes them once.
+     *
+     * @param contacts the contacts to save.
+     */
+    @Override
+    public void saveAll(Collection<Contact> contacts) {
+        delegate.saveAll(contacts);
+        indexes.putAll(contacts);
+    }
+
+    /**
+     * Finds a contact by its ID.
+     *
+     * @param id the UUID of the contact.
+     * @return an Optional containing the contact if found.
+     */
+    @Override
+    public Optional<Contact> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    /**
+     * Finds all active contacts.
+     *
+     * @return a list of active contacts.
+     */
+    @Override
+    public List<Contact> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Finds all contacts, optionally including inactive ones.
+     *
+     * @param includeInactive true to include inactive contacts.
+     * @return a list of contacts.
+     */
+    @Override
+    public List<Contact> findAll(boolean includeInactive) {
+        return delegate.findAll(includeInactive);
+    }
+
+    /**
+     * Finds active contacts by user ID.
+     *
+     * @param userId the user ID.
+     * @return a list of contacts.
+     */
+    @Override
+    public List<Contact> findByUserId(Long userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    /**
+     * Finds contacts by user ID, optionally including inactive ones.
+     *
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return a list of contacts.
+     */
+    @Override
+    public List<Contact> findByUserId(Long userId, boolean includeInactive) {
+        return delegate.findByUserId(userId, includeInactive);
+    }
+
+    /**
+     * Streams all contacts from the wrapped repository.
+     *
+     * @param includeInactive true to include inactive contacts.
+     * @return a lazy stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamAll(boolean includeInactive) {
+        return delegate.streamAll(includeInactive);
+    }
+
+    /**
+     * Streams the contacts of one owner from the wrapped repository.
+     *
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return a lazy stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamByUserId(Long userId, boolean includeInactive) {
+        return delegate.streamByUserId(userId, includeInactive);
+    }
+
+    /**
+     * Soft-deletes a contact and re-indexes it, so indexes that track the
+     * active flag see the change.
+     *
+     * @param contact the contact to delete.
+     */
+    @Override
+    public void delete(Contact contact) {
+        delegate.delete(contact);
+        indexes.put(contact);
+    }
+
+    /**
+     * Permanently deletes a contact and drops it from every index.
+     *
+     * @param contact the contact to hard delete.
+     */
+    @Override
+    public void hardDelete(Contact contact) {
+        delegate.hardDelete(contact);
+        indexes.remove(contact);
+    }
+
+    /**
+     * Deletes all contacts of a user and drops them from every index.
+     *
+     * @param userId the ID of the user.
+     */
+    @Override
+    public void deleteByUserId(Long userId) {
+        List<Contact> owned = delegate.findByUserId(userId, true);
+        delegate.deleteByUserId(userId);
+        for (Contact contact : owned) {
+            indexes.remove(contact);
+        }
+    }
+
+    /**
+     * Persists an added tag and re-indexes the contact.
+     *
+     * @param contact the tagged contact.
+     * @param tag     the tag that was added.
+     */
+    @Override
+    public void saveTag(Contact contact, Tag tag) {
+        delegate.saveTag(contact, tag);
+        indexes.put(contact);
+    }
+
+    /**
+     * Persists a tag added to a batch of contacts and re-indexes them once.
+     *
+     * @param contacts the tagged contacts.
+     * @param tag      the tag that was added.
+     */
+    @Override
+    public void saveTags(Collection<Contact> contacts, Tag tag) {
+        delegate.saveTags(contacts, tag);
+        indexes.putAll(contacts);
+    }
+
+    /**
+     * Persists a tag removed from a batch of contacts and re-indexes them
+     * once.
+     *
+     * @param contacts the untagged contacts.
+     * @param tag      the tag that was removed.
+     */
+    @Override
+    public void deleteTags(Collection<Contact> contacts, Tag tag) {
+        delegate.deleteTags(contacts, tag);
+        indexes.putAll(contacts);
+    }
+
+    /**
+     * Persists a removed tag and re-indexes the contact.
+     *
+     * @param contact the untagged contact.
+     * @param tag     the tag that was removed.
+     */
+    @Override
+    public void deleteTag(Contact contact, Tag tag) {
+        delegate.deleteTag(contact, tag);
+        indexes.put(contact);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.apps.mycontactsapp.composite.ContactGroup;
 import com.apps.mycontactsapp.repository.ContactGroupRepository;
@@ -62,6 +63,16 @@ public class ContactGroupRepositoryStub implements ContactGroupRepository {
         return new ArrayList<>(storage.values());
     }
 
+    /**
+     * Streams all contact groups directly from the backing map.
+     * 
+     * @return a stream of all contact groups.
+     */
+    @Override
+    public Stream<ContactGroup> streamAll() {
+        return storage.values().stream();
+    }
+
     /**
      * Deletes a contact group.
      * 
@@ -6,7 +6,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import com.apps.mycontactsapp.index.OwnerIndex;
 import com.apps.mycontactsapp.model.Contact;
 import com.apps.mycontactsapp.repository.ContactRepository;
 
@@ -15,6 +17,7 @@ import com.apps.mycontactsapp.repository.ContactRepository;
  */
 public class ContactRepositoryStub implements ContactRepository {
     private final Map<UUID, Contact> contacts = new HashMap<>();
+    private final OwnerIndex ownerIndex = new OwnerIndex();
 
     /**
      * Saves or updates a contact.
@@ -24,6 +27,7 @@ public class ContactRepositoryStub implements ContactRepository {
     @Override
     public void save(Contact contact) {
         contacts.put(contact.getId(), contact);
+        ownerIndex.put(contact);
     }
 
     /**
@@ -84,16 +88,31 @@ public class ContactRepositoryStub implements ContactRepository {
      */
     @Override
     public List<Contact> findByUserId(Long userId, boolean includeInactive) {
-        List<Contact> result = new ArrayList<>();
-        for (Contact contact : contacts.values()) {
-            Long contactUserId = contact.getUserId();
-            if (contactUserId != null && contactUserId.equals(userId)) {
-                if (includeInactive || contact.isActive()) {
-                    result.add(contact);
-                }
-            }
-        }
-        return result;
+        return ownerIndex.find(userId, includeInactive);
+    }
+
+    /**
+     * Streams contacts directly from the backing map, optionally including
+     * inactive ones.
+     * 
+     * @param includeInactive true to include inactive contacts.
+     * @return a lazy stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamAll(boolean includeInactive) {
+        return contacts.values().stream().filter(c -> includeInactive || c.isActive());
+    }
+
+    /**
+     * Streams the contacts of a user directly from the owner index.
+     * 
+     * @param userId          the user ID.
+     * @param includeInactive true to include inactive contacts.
+     * @return a lazy stream of contacts.
+     */
+    @Override
+    public Stream<Contact> streamByUserId(Long userId, boolean includeInactive) {
+        return ownerIndex.stream(userId, includeInactive);
     }
 
     /**
@@ -111,6 +130,7 @@ public class ContactRepositoryStub implements ContactRepository {
             // setting it to false updates it in the map directly.
             // But to be safe/consistent with "save", we can put it back.
             contacts.put(contact.getId(), contact);
+            ownerIndex.put(contact);
         }
     }
 
@@ -123,6 +143,7 @@ public class ContactRepositoryStub implements ContactRepository {
     public void hardDelete(Contact contact) {
         if (contact != null) {
             contacts.remove(contact.getId());
+            ownerIndex.remove(contact);
         }
     }
 
@@ -133,15 +154,8 @@ public class ContactRepositoryStub implements ContactRepository {
      */
     @Override
     public void deleteByUserId(Long userId) {
-        // Collect IDs to remove to avoid ConcurrentModificationException
-        List<UUID> idsToRemove = new ArrayList<>();
-        for (Contact contact : contacts.values()) {
-            if (userId.equals(contact.getUserId())) {
-                idsToRemove.add(contact.getId());
-            }
-        }
-        for (UUID id : idsToRemove) {
-            contacts.remove(id);
+        for (Contact contact : ownerIndex.removeOwner(userId)) {
+            contacts.remove(contact.getId());
         }
     }
 }
@@ -5,6 +5,8 @@ import java.util.UUID;
 
 import com.apps.mycontactsapp.exceptions.ValidationException;
 import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.ContactPage;
+import com.apps.mycontactsapp.model.ContactSortOrder;
 import com.apps.mycontactsapp.model.User;
 
 /**
@@ -63,6 +65,42 @@ public interface ContactService {
          */
         List<Contact> getContacts(User requester, boolean includeInactive);
 
+        /**
+         * Retrieves one page of the requester's contacts in the given order.
+         * Pages are keyset-based: the token remembers the last contact returned,
+         * so inserts and deletes between calls never shift or repeat entries.
+         *
+         * @param requester the user requesting the contacts.
+         * @param sortOrder the sort order.
+         * @param pageSize  the maximum number of contacts on the page.
+         * @param pageToken the token from the previous page, or null for the first.
+         * @return the page of contacts.
+         * @throws ValidationException if the page size or token is invalid.
+         */
+        ContactPage getContactsPage(User requester, ContactSortOrder sortOrder, int pageSize, String pageToken)
+                        throws ValidationException;
+
+        /**
+         * Retrieves every contact visible to the requester in the given order,
+         * including inactive ones.
+         * 
+         * @param requester the user requesting the contacts.
+         * @param sortOrder the sort order; null means by name, ascending.
+         * @return the sorted contacts.
+         */
+        List<Contact> getContactsSorted(User requester, ContactSortOrder sortOrder);
+
+        /**
+         * Retrieves the contacts visible to the requester that were added at
+         * or after the given time, newest first.
+         * 
+         * @param requester the user requesting the contacts.
+         * @param since     the earliest creation time to include; null means
+         *                  no lower bound.
+         * @return the matching contacts.
+         */
+        List<Contact> getContactsAddedSince(User requester, java.time.LocalDateTime since);
+
         /**
          * Retrieves a specific contact by ID and increments its access count.
          * 
@@ -115,6 +153,54 @@ public interface ContactService {
          */
         List<Contact> searchContacts(User requester, com.apps.mycontactsapp.specification.Specification<Contact> spec);
 
+        /**
+         * Searches for contacts matching the given specification, optionally in
+         * parallel, returning them in the requested order. Parallel execution is
+         * meant for admin and reporting scans; small inputs still run
+         * sequentially.
+         * 
+         * @param requester the user requesting the search.
+         * @param spec      the search criteria, or null to match everything.
+         * @param sortOrder the order of the results, or null for no particular
+         *                  order.
+         * @param parallel  whether the search may run on multiple threads.
+         * @return a list of matching contacts.
+         */
+        List<Contact> searchContacts(User requester, com.apps.mycontactsapp.specification.Specification<Contact> spec,
+                        java.util.Comparator<Contact> sortOrder, boolean parallel);
+
+        /**
+         * Retrieves the requester's most frequently accessed contacts, highest
+         * access count first. Admins see a ranking across all users.
+         * 
+         * @param requester the user requesting the ranking.
+         * @param k         the maximum number of contacts to return.
+         * @return up to k contacts.
+         */
+        List<Contact> getMostContacted(User requester, int k);
+
+        /**
+         * Describes how a search would be executed: which indexes supply the
+         * candidates and in which order the remaining checks run.
+         * 
+         * @param spec the search criteria.
+         * @return a human-readable plan.
+         */
+        String explainSearch(com.apps.mycontactsapp.specification.Specification<Contact> spec);
+
+        /**
+         * Retrieves the contacts carrying every tag in allOf and none of the tags
+         * in noneOf (tag names are case-insensitive), e.g. "tagged Work AND VIP
+         * but NOT Archived". Applies the same ACL as searchContacts.
+         *
+         * @param requester the user requesting the contacts.
+         * @param allOf     tag names that must all be present.
+         * @param noneOf    tag names that must all be absent.
+         * @return a list of matching contacts.
+         */
+        List<Contact> getContactsByTags(User requester, java.util.Collection<String> allOf,
+                        java.util.Collection<String> noneOf);
+
         /**
          * Adds a tag to a contact and notifies observers.
          * 
@@ -134,4 +220,50 @@ public interface ContactService {
          * @throws ValidationException if contact not found.
          */
         void untagContact(User requester, UUID contactId, String tagName) throws ValidationException;
+
+        /**
+         * Adds a tag to many contacts at once. Access to every contact is
+         * checked before any is changed, the changes are persisted and indexed
+         * as one batch, and observers receive a single event. Unlike
+         * {@link #tagContact(User, UUID, String)}, access counts are not
+         * incremented.
+         * 
+         * @param requester  the user.
+         * @param contactIds the contact IDs.
+         * @param tagName    the tag name.
+         * @return the number of contacts that did not already carry the tag.
+         * @throws ValidationException if any contact is not found or access is
+         *                             denied, or the tag name is empty.
+         */
+        int tagContacts(User requester, java.util.Collection<UUID> contactIds, String tagName)
+                        throws ValidationException;
+
+        /**
+         * Removes a tag from many contacts at once, with the same all-or-nothing
+         * access check, batched persistence and single observer event as
+         * {@link #tagContacts(User, java.util.Collection, String)}.
+         * 
+         * @param requester  the user.
+         * @param contactIds the contact IDs.
+         * @param tagName    the tag name.
+         * @return the number of contacts that carried the tag.
+         * @throws ValidationException if any contact is not found or access is
+         *                             denied, or the tag name is empty.
+         */
+        int untagContacts(User requester, java.util.Collection<UUID> contactIds, String tagName)
+                        throws ValidationException;
+
+        /**
+         * Renames a tag on every contact visible to the requester. If a contact
+         * already carries the new tag, the two are merged. Observers receive a
+         * single rename event.
+         * 
+         * @param requester the user.
+         * @param fromName  the current tag name.
+         * @param toName    the new tag name.
+         * @return the number of contacts that carried the current tag.
+         * @throws ValidationException if either name is empty or they are the
+         *                             same tag.
+         */
+        int renameTag(User requester, String fromName, String toName) throws ValidationException;
 }
@@ -1,25 +1,72 @@
 package com.apps.mycontactsapp.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
 
+import com.apps.mycontactsapp.comparator.ContactComparators;
+import com.apps.mycontactsapp.comparator.ContactSortKey;
 import com.apps.mycontactsapp.exceptions.ValidationException;
+import com.apps.mycontactsapp.index.AccessFrequencyIndex;
+import com.apps.mycontactsapp.index.SearchResultCache;
+import com.apps.mycontactsapp.index.SortedContactIndex;
+import com.apps.mycontactsapp.index.TagBitmapIndex;
 import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.ContactPage;
+import com.apps.mycontactsapp.model.ContactSortOrder;
 import com.apps.mycontactsapp.model.Organization;
 import com.apps.mycontactsapp.model.Person;
 import com.apps.mycontactsapp.model.User;
 import com.apps.mycontactsapp.model.UserType;
+import com.apps.mycontactsapp.query.QueryPlan;
+import com.apps.mycontactsapp.query.QueryPlanner;
 import com.apps.mycontactsapp.repository.ContactRepository;
 import com.apps.mycontactsapp.service.ContactService;
+import com.apps.mycontactsapp.util.SortedIntArrays;
 
 /**
  * Implementation of ContactService.
  */
 public class ContactServiceImpl implements ContactService {
 
+    /** Default number of worker threads for parallel searches. */
+    public static final int DEFAULT_SEARCH_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    /** Default number of contacts below which parallel searches run sequentially. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
     private final ContactRepository contactRepository;
+    private final ForkJoinPool searchPool;
+    private final int parallelThreshold;
 
     public ContactServiceImpl(ContactRepository contactRepository) {
+        this(contactRepository, DEFAULT_SEARCH_PARALLELISM, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates the service with a bounded pool for parallel searches.
+     *
+     * @param contactRepository the contact repository.
+     * @param searchParallelism the maximum number of threads a parallel search
+     *                          may use.
+     * @param parallelThreshold the number of contacts below which parallel
+     *                          searches run sequentially.
+     */
+    public ContactServiceImpl(ContactRepository contactRepository, int searchParallelism, int parallelThreshold) {
+        if (searchParallelism < 1) {
+            throw new IllegalArgumentException("Search parallelism must be at least 1");
+        }
         this.contactRepository = contactRepository;
+        // Worker threads are created on demand and are daemons, so an idle pool
+        // costs nothing and never blocks shutdown.
+        this.searchPool = new ForkJoinPool(searchParallelism);
+        this.parallelThreshold = parallelThreshold;
     }
 
     /**
@@ -263,6 +310,8 @@ public class ContactServiceImpl implements ContactService {
         contactRepository.hardDelete(contact);
         // We could notify observers here as well if we want to log permanent deletion
         notifyObservers(contact);
+        // Only once observers have seen the contact as it was
+        contact.releaseTags();
     }
 
     /**
@@ -273,7 +322,9 @@ public class ContactServiceImpl implements ContactService {
      */
     @Override
     public void deleteAllContactsForUser(Long userId) {
+        List<Contact> removed = contactRepository.findByUserId(userId, true);
         contactRepository.deleteByUserId(userId);
+        removed.forEach(Contact::releaseTags);
     }
 
     /**
@@ -309,6 +360,8 @@ public class ContactServiceImpl implements ContactService {
 
     /**
      * Searches for contacts matching the given specification.
+     * Results of cacheable specifications are served from the repository's
+     * {@link SearchResultCache} when it has one.
      * 
      * @param requester the user requesting the search.
      * @param spec      the search criteria.
@@ -317,13 +370,373 @@ public class ContactServiceImpl implements ContactService {
     @Override
     public List<Contact> searchContacts(User requester,
             com.apps.mycontactsapp.specification.Specification<Contact> spec) {
+        if (requester == null) {
+            return List.of();
+        }
         if (spec == null) {
             return getContacts(requester);
         }
-        List<Contact> allContacts = getContacts(requester);
-        return allContacts.stream()
-                .filter(spec::isSatisfiedBy)
-                .collect(java.util.stream.Collectors.toList());
+        java.util.Optional<SearchResultCache> cache = contactRepository.indexes()
+                .flatMap(indexes -> indexes.get(SearchResultCache.class));
+        if (cache.isPresent()) {
+            return cache.get().computeIfAbsent(ownerScope(requester), spec, () -> runSearch(requester, spec));
+        }
+        return runSearch(requester, spec);
+    }
+
+    /**
+     * Runs a search without consulting the result cache.
+     *
+     * @param requester the user requesting the search.
+     * @param spec      the search criteria.
+     * @return a list of matching contacts.
+     */
+    private List<Contact> runSearch(User requester,
+            com.apps.mycontactsapp.specification.Specification<Contact> spec) {
+        if (requester == null) {
+            return List.of();
+        }
+        // Let the planner push indexable criteria down to index lookups; the
+        // remaining checks run in cost order over the candidates (or over a
+        // lazy stream of every visible contact when no index applies).
+        QueryPlan plan = planSearch(spec);
+        try (java.util.stream.Stream<Contact> visible = plan.isIndexed()
+                ? plan.getCandidates().stream().filter(contact -> isVisibleTo(requester, contact))
+                : streamContacts(requester, true)) {
+            return visible
+                    .filter(plan::matches)
+                    .collect(java.util.stream.Collectors.toList());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Parallel searches split the candidate source into chunks on a bounded
+     * fork/join pool; each chunk is filtered and sorted on its own and the
+     * results are merged in order.
+     */
+    @Override
+    public List<Contact> searchContacts(User requester,
+            com.apps.mycontactsapp.specification.Specification<Contact> spec, Comparator<Contact> sortOrder,
+            boolean parallel) {
+        if (requester == null) {
+            return List.of();
+        }
+        QueryPlan plan = spec == null ? null : planSearch(spec);
+        boolean indexed = plan != null && plan.isIndexed();
+        java.util.function.Predicate<Contact> predicate;
+        if (plan == null) {
+            predicate = contact -> true;
+        } else if (indexed) {
+            // Index candidates are not scoped to the requester; check visibility
+            // in the task so the source stays unfiltered and its size known
+            predicate = contact -> isVisibleTo(requester, contact) && plan.matches(contact);
+        } else {
+            predicate = plan::matches;
+        }
+        try (java.util.stream.Stream<Contact> all = indexed
+                ? plan.getCandidates().stream()
+                : streamContacts(requester, true)) {
+            java.util.Spliterator<Contact> source = all.spliterator();
+            // Size the work by the source collection, before any filtering
+            long size = indexed ? plan.getCandidates().size() : source.estimateSize();
+            if (!parallel || size < parallelThreshold) {
+                return new ParallelSearchTask(source, predicate, sortOrder, Long.MAX_VALUE).compute();
+            }
+            long chunkSize = Math.max(1024, size / (searchPool.getParallelism() * 4L));
+            return searchPool.invoke(new ParallelSearchTask(source, predicate, sortOrder, chunkSize));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the maintained frequency ranking when the repository has one, in
+     * O(k); otherwise keeps a bounded heap over the visible contacts.
+     */
+    @Override
+    public List<Contact> getMostContacted(User requester, int k) {
+        if (requester == null || k <= 0) {
+            return List.of();
+        }
+        boolean isAdmin = UserType.ADMIN.equals(requester.getUserType());
+        java.util.Optional<AccessFrequencyIndex> index = contactRepository.indexes()
+                .flatMap(indexes -> indexes.get(AccessFrequencyIndex.class));
+        if (index.isPresent()) {
+            return index.get().top(isAdmin ? null : requester.getId(), k);
+        }
+        Comparator<Contact> mostFrequent = ContactComparators.BY_ACCESS_FREQUENCY;
+        PriorityQueue<Contact> heap = new PriorityQueue<>(k + 1, mostFrequent.reversed());
+        try (java.util.stream.Stream<Contact> visible = streamContacts(requester, true)) {
+            visible.forEach(contact -> {
+                heap.add(contact);
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            });
+        }
+        List<Contact> result = new ArrayList<>(heap);
+        result.sort(mostFrequent);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String explainSearch(com.apps.mycontactsapp.specification.Specification<Contact> spec) {
+        return spec == null ? "Plan: list all visible contacts\n" : planSearch(spec).explain();
+    }
+
+    /**
+     * Compiles a specification against the repository's indexes.
+     *
+     * @param spec the search criteria.
+     * @return the plan.
+     */
+    private QueryPlan planSearch(com.apps.mycontactsapp.specification.Specification<Contact> spec) {
+        return new QueryPlanner(contactRepository.indexes().orElse(null)).plan(spec);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Walks the pre-sorted index from the cursor when the repository has one,
+     * in O(log n + pageSize). Otherwise selects the page with a bounded
+     * max-heap of pageSize + 1 entries, so a page costs O(n log k) without
+     * sorting or copying the full listing.
+     */
+    @Override
+    public ContactPage getContactsPage(User requester, ContactSortOrder sortOrder, int pageSize, String pageToken)
+            throws ValidationException {
+        if (pageSize <= 0) {
+            throw new ValidationException("Page size must be positive.");
+        }
+        ContactSortOrder order = sortOrder != null ? sortOrder : ContactSortOrder.NAME_ASC;
+        ContactSortKey after = null;
+        if (pageToken != null && !pageToken.isBlank()) {
+            try {
+                after = ContactSortKey.fromToken(pageToken);
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Invalid page token.");
+            }
+            if (after.getOrder() != order) {
+                throw new ValidationException("Page token does not match the sort order.");
+            }
+        }
+
+        int limit = pageSize + 1;
+        java.util.Optional<SortedContactIndex> index = sortedIndex(requester);
+        if (index.isPresent()) {
+            List<Contact> contacts = index.get().ordered(ownerScope(requester), order, after, limit);
+            boolean hasNext = contacts.size() > pageSize;
+            if (hasNext) {
+                contacts = contacts.subList(0, pageSize);
+            }
+            String nextToken = hasNext ? ContactSortKey.of(order, contacts.get(pageSize - 1)).toToken() : null;
+            return new ContactPage(new ArrayList<>(contacts), nextToken);
+        }
+
+        // Keep the pageSize + 1 smallest keys past the cursor; the extra one
+        // only tells us whether another page follows.
+        PriorityQueue<ContactSortKey> heap = new PriorityQueue<>(limit, Comparator.reverseOrder());
+        Map<ContactSortKey, Contact> candidates = new HashMap<>();
+        try (java.util.stream.Stream<Contact> visible = streamContacts(requester, true)) {
+            Iterator<Contact> it = visible.iterator();
+            while (it.hasNext()) {
+                Contact contact = it.next();
+                ContactSortKey key = ContactSortKey.of(order, contact);
+                if (after != null && key.compareTo(after) <= 0) {
+                    continue;
+                }
+                if (heap.size() < limit) {
+                    heap.add(key);
+                    candidates.put(key, contact);
+                } else if (key.compareTo(heap.peek()) < 0) {
+                    candidates.remove(heap.poll());
+                    heap.add(key);
+                    candidates.put(key, contact);
+                }
+            }
+        }
+
+        List<ContactSortKey> keys = new ArrayList<>(heap);
+        Collections.sort(keys);
+        boolean hasNext = keys.size() > pageSize;
+        if (hasNext) {
+            keys = keys.subList(0, pageSize);
+        }
+        List<Contact> contacts = new ArrayList<>(keys.size());
+        for (ContactSortKey key : keys) {
+            contacts.add(candidates.get(key));
+        }
+        String nextToken = hasNext ? keys.get(keys.size() - 1).toToken() : null;
+        return new ContactPage(contacts, nextToken);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Traverses the pre-sorted index when the repository has one; otherwise
+     * sorts the visible contacts.
+     */
+    @Override
+    public List<Contact> getContactsSorted(User requester, ContactSortOrder sortOrder) {
+        ContactSortOrder order = sortOrder != null ? sortOrder : ContactSortOrder.NAME_ASC;
+        java.util.Optional<SortedContactIndex> index = sortedIndex(requester);
+        if (index.isPresent()) {
+            return index.get().ordered(ownerScope(requester), order, null, Integer.MAX_VALUE);
+        }
+        try (java.util.stream.Stream<Contact> visible = streamContacts(requester, true)) {
+            return visible.sorted(ContactComparators.forSortOrder(order))
+                    .collect(java.util.stream.Collectors.toList());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads a head range of the creation-time index when the repository has
+     * one; otherwise filters and sorts the visible contacts.
+     */
+    @Override
+    public List<Contact> getContactsAddedSince(User requester, java.time.LocalDateTime since) {
+        if (since == null) {
+            return getContactsSorted(requester, ContactSortOrder.RECENTLY_ADDED);
+        }
+        java.util.Optional<SortedContactIndex> index = sortedIndex(requester);
+        if (index.isPresent()) {
+            return index.get().addedSince(ownerScope(requester), since);
+        }
+        try (java.util.stream.Stream<Contact> visible = streamContacts(requester, true)) {
+            return visible.filter(contact -> !contact.getCreatedAt().isBefore(since))
+                    .sorted(ContactComparators.forSortOrder(ContactSortOrder.RECENTLY_ADDED))
+                    .collect(java.util.stream.Collectors.toList());
+        }
+    }
+
+    /**
+     * Looks up the pre-sorted index, if the repository maintains one and the
+     * requester is known.
+     *
+     * @param requester the user requesting the listing.
+     * @return an Optional containing the index.
+     */
+    private java.util.Optional<SortedContactIndex> sortedIndex(User requester) {
+        if (requester == null) {
+            return java.util.Optional.empty();
+        }
+        return contactRepository.indexes().flatMap(indexes -> indexes.get(SortedContactIndex.class));
+    }
+
+    /**
+     * Gets the owner whose contacts the requester may list, or null for
+     * admins, who may list every contact.
+     *
+     * @param requester the user requesting the listing.
+     * @return the owner ID, or null for all owners.
+     */
+    private Long ownerScope(User requester) {
+        return UserType.ADMIN.equals(requester.getUserType()) ? null : requester.getId();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Runs as bitmap algebra over the tag index when one is available, and as
+     * a scan of the visible contacts otherwise.
+     */
+    @Override
+    public List<Contact> getContactsByTags(User requester, Collection<String> allOf, Collection<String> noneOf) {
+        if (requester == null) {
+            return List.of();
+        }
+        Collection<String> required = allOf != null ? allOf : List.of();
+        Collection<String> excluded = noneOf != null ? noneOf : List.of();
+        java.util.Optional<TagBitmapIndex> index = contactRepository.indexes()
+                .flatMap(indexes -> indexes.get(TagBitmapIndex.class));
+        if (index.isPresent()) {
+            return index.get().matching(required, excluded).stream()
+                    .filter(contact -> isVisibleTo(requester, contact))
+                    .collect(java.util.stream.Collectors.toList());
+        }
+        // Resolve each name to the sorted ids of the pooled tags it matches, so
+        // every contact is checked by merging int arrays
+        List<int[]> requiredIds = new ArrayList<>();
+        for (String name : required) {
+            if (name != null && !name.trim().isEmpty()) {
+                int[] ids = tagIdsNamed(name);
+                if (ids.length == 0) {
+                    return List.of();
+                }
+                requiredIds.add(ids);
+            }
+        }
+        int[] excludedIds = new int[0];
+        for (String name : excluded) {
+            if (name != null && !name.trim().isEmpty()) {
+                int[] ids = tagIdsNamed(name);
+                excludedIds = SortedIntArrays.union(excludedIds, excludedIds.length, ids, ids.length);
+            }
+        }
+        int[] none = excludedIds;
+        try (java.util.stream.Stream<Contact> visible = streamContacts(requester, true)) {
+            return visible.filter(contact -> {
+                for (int[] ids : requiredIds) {
+                    if (!contact.hasAnyTagId(ids)) {
+                        return false;
+                    }
+                }
+                return !contact.hasAnyTagId(none);
+            }).collect(java.util.stream.Collectors.toList());
+        }
+    }
+
+    /**
+     * Gets the ids of the pooled tags whose name equals the given one,
+     * ignoring case.
+     *
+     * @param name the tag name.
+     * @return the matching tag ids, sorted ascending.
+     */
+    private int[] tagIdsNamed(String name) {
+        return com.apps.mycontactsapp.factory.TagFactory.getAllTags().stream()
+                .filter(tag -> tag.getName().equalsIgnoreCase(name))
+                .mapToInt(com.apps.mycontactsapp.model.Tag::getId)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Applies the same ACL as {@link #getContacts(User, boolean)} to a single
+     * contact.
+     *
+     * @param requester the user.
+     * @param contact   the contact.
+     * @return true if the requester may see the contact.
+     */
+    private boolean isVisibleTo(User requester, Contact contact) {
+        return UserType.ADMIN.equals(requester.getUserType())
+                || (contact.getUserId() != null && contact.getUserId().equals(requester.getId()));
+    }
+
+    /**
+     * Streams the contacts visible to the requester, applying the same ACL as
+     * {@link #getContacts(User, boolean)}.
+     *
+     * @param requester       the user requesting the contacts.
+     * @param includeInactive whether to include soft-deleted contacts.
+     * @return a lazy stream of contacts.
+     */
+    private java.util.stream.Stream<Contact> streamContacts(User requester, boolean includeInactive) {
+        if (requester == null) {
+            return java.util.stream.Stream.empty();
+        }
+        if (UserType.ADMIN.equals(requester.getUserType())) {
+            return contactRepository.streamAll(includeInactive);
+        }
+        return contactRepository.streamByUserId(requester.getId(), includeInactive);
     }
 
 
@@ -342,6 +755,7 @@ public class ContactServiceImpl implements ContactService {
 
         com.apps.mycontactsapp.model.Tag tag = com.apps.mycontactsapp.factory.TagFactory.getTag(tagName);
         contact.addTag(tag);
+        contactRepository.saveTag(contact, tag);
 
         // Sync with user's global tags
         requester.addUserTag(tag);
@@ -366,6 +780,7 @@ public class ContactServiceImpl implements ContactService {
 
         com.apps.mycontactsapp.model.Tag tag = com.apps.mycontactsapp.factory.TagFactory.getTag(tagName);
         contact.removeTag(tagName);
+        contactRepository.deleteTag(contact, tag);
 
         // Notify Observers
         for (com.apps.mycontactsapp.observer.ContactObserver observer : observers) {
@@ -373,4 +788,168 @@ public class ContactServiceImpl implements ContactService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param requester  the user performing the tagging.
+     * @param contactIds the IDs of the contacts to tag.
+     * @param tagName    the name of the tag to add.
+     * @return the number of contacts newly tagged.
+     * @throws ValidationException if any contact is not found or access denied.
+     */
+    @Override
+    public int tagContacts(User requester, Collection<java.util.UUID> contactIds, String tagName)
+            throws ValidationException {
+        List<Contact> contacts = findForBulkUpdate(requester, contactIds, tagName);
+
+        // Hold a reference so the tag keeps its id while the batch is linked
+        com.apps.mycontactsapp.model.Tag tag = com.apps.mycontactsapp.factory.TagFactory.acquire(tagName);
+        try {
+            List<Contact> tagged = new ArrayList<>();
+            for (Contact contact : contacts) {
+                if (!contact.hasTagId(tag.getId())) {
+                    contact.addTag(tag);
+                    tagged.add(contact);
+                }
+            }
+            if (tagged.isEmpty()) {
+                return 0;
+            }
+            contactRepository.saveTags(tagged, tag);
+            requester.addUserTag(tag);
+            for (com.apps.mycontactsapp.observer.ContactObserver observer : observers) {
+                observer.onContactsTagged(tagged, tag);
+            }
+            return tagged.size();
+        } finally {
+            com.apps.mycontactsapp.factory.TagFactory.release(tag.getId());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param requester  the user performing the untagging.
+     * @param contactIds the IDs of the contacts to untag.
+     * @param tagName    the name of the tag to remove.
+     * @return the number of contacts untagged.
+     * @throws ValidationException if any contact is not found or access denied.
+     */
+    @Override
+    public int untagContacts(User requester, Collection<java.util.UUID> contactIds, String tagName)
+            throws ValidationException {
+        List<Contact> contacts = findForBulkUpdate(requester, contactIds, tagName);
+        if (com.apps.mycontactsapp.factory.TagFactory.findTag(tagName) == null) {
+            return 0; // no contact carries a tag that is not pooled
+        }
+
+        // Hold a reference so the tag is not evicted before the last unlink
+        com.apps.mycontactsapp.model.Tag tag = com.apps.mycontactsapp.factory.TagFactory.acquire(tagName);
+        try {
+            List<Contact> untagged = new ArrayList<>();
+            for (Contact contact : contacts) {
+                if (contact.hasTagId(tag.getId())) {
+                    contact.removeTag(tag.getName());
+                    untagged.add(contact);
+                }
+            }
+            if (untagged.isEmpty()) {
+                return 0;
+            }
+            contactRepository.deleteTags(untagged, tag);
+            for (com.apps.mycontactsapp.observer.ContactObserver observer : observers) {
+                observer.onContactsUntagged(untagged, tag);
+            }
+            return untagged.size();
+        } finally {
+            com.apps.mycontactsapp.factory.TagFactory.release(tag.getId());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Candidates come from {@link #getContactsByTags(User, Collection, Collection)},
+     * so the tag index is used when available; matching is then narrowed to
+     * the exact tag name.
+     *
+     * @param requester the user performing the rename.
+     * @param fromName  the current tag name.
+     * @param toName    the new tag name.
+     * @return the number of contacts renamed.
+     * @throws ValidationException if a name is empty or both are the same.
+     */
+    @Override
+    public int renameTag(User requester, String fromName, String toName) throws ValidationException {
+        if (requester == null) {
+            throw new ValidationException("Invalid request.");
+        }
+        if (fromName == null || fromName.trim().isEmpty() || toName == null || toName.trim().isEmpty()) {
+            throw new ValidationException("Tag name cannot be empty.");
+        }
+        if (fromName.trim().equals(toName.trim())) {
+            throw new ValidationException("Old and new tag names are the same.");
+        }
+        if (com.apps.mycontactsapp.factory.TagFactory.findTag(fromName) == null) {
+            return 0;
+        }
+
+        com.apps.mycontactsapp.model.Tag from = com.apps.mycontactsapp.factory.TagFactory.acquire(fromName);
+        com.apps.mycontactsapp.model.Tag to = com.apps.mycontactsapp.factory.TagFactory.acquire(toName);
+        try {
+            List<Contact> renamed = new ArrayList<>();
+            for (Contact contact : getContactsByTags(requester, List.of(from.getName()), List.of())) {
+                if (contact.hasTagId(from.getId())) {
+                    contact.removeTag(from.getName());
+                    contact.addTag(to); // merges if already tagged
+                    renamed.add(contact);
+                }
+            }
+            requester.removeUserTag(from);
+            requester.addUserTag(to);
+            if (renamed.isEmpty()) {
+                return 0;
+            }
+            contactRepository.saveAll(renamed);
+            for (com.apps.mycontactsapp.observer.ContactObserver observer : observers) {
+                observer.onTagRenamed(renamed, from, to);
+            }
+            return renamed.size();
+        } finally {
+            com.apps.mycontactsapp.factory.TagFactory.release(to.getId());
+            com.apps.mycontactsapp.factory.TagFactory.release(from.getId());
+        }
+    }
+
+    /**
+     * Loads the contacts of a bulk update and checks access to all of them
+     * before any is changed, so a denied contact fails the whole batch.
+     *
+     * @param requester  the user performing the update.
+     * @param contactIds the contact IDs; duplicates are ignored.
+     * @param tagName    the tag name, which must not be empty.
+     * @return the contacts, in request order.
+     * @throws ValidationException if any contact is not found or access denied.
+     */
+    private List<Contact> findForBulkUpdate(User requester, Collection<java.util.UUID> contactIds, String tagName)
+            throws ValidationException {
+        if (requester == null || contactIds == null) {
+            throw new ValidationException("Invalid request.");
+        }
+        if (tagName == null || tagName.trim().isEmpty()) {
+            throw new ValidationException("Tag name cannot be empty.");
+        }
+        List<Contact> contacts = new ArrayList<>(contactIds.size());
+        for (java.util.UUID contactId : new java.util.LinkedHashSet<>(contactIds)) {
+            Contact contact = contactId == null ? null : contactRepository.findById(contactId).orElse(null);
+            if (contact == null) {
+                throw new ValidationException("Contact not found: " + contactId);
+            }
+            if (!isVisibleTo(requester, contact)) {
+                throw new ValidationException("Access Denied.");
+            }
+            contacts.add(contact);
+        }
+        return contacts;
+    }
 }
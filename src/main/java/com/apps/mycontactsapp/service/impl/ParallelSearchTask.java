@@ -0,0 +1,83 @@
+package com.apps.mycontactsapp.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+import com.apps.mycontactsapp.model.Contact;
+
+/**
+ * Fork/join task that filters a spliterator of contacts in parallel.
+ *
+ * The source is split with {@link Spliterator#trySplit()} until chunks are no
+ * larger than the chunk size. Each chunk is filtered (and sorted, if an order
+ * is given) sequentially, and sibling results are merged on the way back up,
+ * so the final list is in the requested order, or in encounter order when no
+ * order is given.
+ */
+final class ParallelSearchTask extends RecursiveTask<List<Contact>> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Spliterator<Contact> source;
+    private final transient Predicate<Contact> predicate;
+    private final transient Comparator<Contact> order;
+    private final long chunkSize;
+
+    ParallelSearchTask(Spliterator<Contact> source, Predicate<Contact> predicate, Comparator<Contact> order,
+            long chunkSize) {
+        this.source = source;
+        this.predicate = predicate;
+        this.order = order;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected List<Contact> compute() {
+        if (source.estimateSize() > chunkSize) {
+            Spliterator<Contact> prefix = source.trySplit();
+            if (prefix != null) {
+                ParallelSearchTask left = new ParallelSearchTask(prefix, predicate, order, chunkSize);
+                left.fork();
+                List<Contact> right = new ParallelSearchTask(source, predicate, order, chunkSize).compute();
+                return merge(left.join(), right);
+            }
+        }
+        List<Contact> matches = new ArrayList<>();
+        source.forEachRemaining(contact -> {
+            if (predicate.test(contact)) {
+                matches.add(contact);
+            }
+        });
+        if (order != null) {
+            matches.sort(order);
+        }
+        return matches;
+    }
+
+    private List<Contact> merge(List<Contact> left, List<Contact> right) {
+        if (order == null || left.isEmpty() || right.isEmpty()) {
+            if (left.isEmpty()) {
+                return right;
+            }
+            left.addAll(right);
+            return left;
+        }
+        List<Contact> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            // Ties go left to keep the merge stable
+            if (order.compare(right.get(j), left.get(i)) < 0) {
+                merged.add(right.get(j++));
+            } else {
+                merged.add(left.get(i++));
+            }
+        }
+        merged.addAll(left.subList(i, left.size()));
+        merged.addAll(right.subList(j, right.size()));
+        return merged;
+    }
+}
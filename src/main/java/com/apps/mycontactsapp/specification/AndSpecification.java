@@ -1,5 +1,7 @@
 package com.apps.mycontactsapp.specification;
 
+import java.util.Objects;
+
 /**
  * Specification implementation for logical AND operation.
  * 
@@ -29,4 +31,67 @@ public class AndSpecification<T> implements Specification<T> {
     public boolean isSatisfiedBy(T t) {
         return first.isSatisfiedBy(t) && second.isSatisfiedBy(t);
     }
+
+    /**
+     * Gets the first specification.
+     * 
+     * @return the first operand.
+     */
+    public Specification<T> getFirst() {
+        return first;
+    }
+
+    /**
+     * Gets the second specification.
+     * 
+     * @return the second operand.
+     */
+    public Specification<T> getSecond() {
+        return second;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Cacheable when every operand is.
+     */
+    @Override
+    public boolean isCacheable() {
+        return first.isCacheable() && second.isCacheable();
+    }
+
+    /**
+     * Checks equality based on the operands, in order.
+     *
+     * @param o the object to compare.
+     * @return true if equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        AndSpecification<?> that = (AndSpecification<?>) o;
+        return first.equals(that.first) && second.equals(that.second);
+    }
+
+    /**
+     * Generates a hash code based on the operands.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(first, second);
+    }
+
+    /**
+     * Returns a readable form of the combined criteria.
+     * 
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        return "(" + first + " AND " + second + ")";
+    }
 }
@@ -1,8 +1,6 @@
 package com.apps.mycontactsapp.specification;
 
 import com.apps.mycontactsapp.model.Contact;
-import com.apps.mycontactsapp.model.EmailAddress;
-import com.apps.mycontactsapp.model.PhoneNumber;
 
 /**
  * Factory class for creating Contact specifications.
@@ -21,14 +19,7 @@ public class ContactSpecifications {
      * @return a Specification for filtering by name.
      */
     public static Specification<Contact> nameContains(String namePart) {
-        return contact -> {
-            if (namePart == null || namePart.trim().isEmpty()) {
-                return true; // Empty search matches all
-            }
-            String lowerNamePart = namePart.toLowerCase();
-            return contact.getDisplayName() != null &&
-                    contact.getDisplayName().toLowerCase().contains(lowerNamePart);
-        };
+        return new NameContainsSpecification(namePart);
     }
 
     /**
@@ -39,14 +30,39 @@ public class ContactSpecifications {
      * @return a Specification for filtering by phone number.
      */
     public static Specification<Contact> phoneContains(String phonePart) {
-        return contact -> {
-            if (phonePart == null || phonePart.trim().isEmpty()) {
-                return true;
-            }
-            return contact.getPhoneNumbers().stream()
-                    .map(PhoneNumber::getNumber)
-                    .anyMatch(num -> num.contains(phonePart));
-        };
+        return new PhoneNumberSpecification(PhoneNumberSpecification.Match.CONTAINS, phonePart);
+    }
+
+    /**
+     * Specification to check if contact has a phone number starting with the
+     * given digits.
+     * 
+     * @param prefix the leading digits.
+     * @return a Specification for filtering by phone number prefix.
+     */
+    public static Specification<Contact> phoneStartsWith(String prefix) {
+        return new PhoneNumberSpecification(PhoneNumberSpecification.Match.STARTS_WITH, prefix);
+    }
+
+    /**
+     * Specification to check if contact has a phone number ending with the
+     * given digits.
+     * 
+     * @param suffix the trailing digits.
+     * @return a Specification for filtering by phone number suffix.
+     */
+    public static Specification<Contact> phoneEndsWith(String suffix) {
+        return new PhoneNumberSpecification(PhoneNumberSpecification.Match.ENDS_WITH, suffix);
+    }
+
+    /**
+     * Specification to check if contact has exactly the given phone number.
+     * 
+     * @param number the phone number.
+     * @return a Specification for filtering by phone number.
+     */
+    public static Specification<Contact> phoneEquals(String number) {
+        return new PhoneNumberSpecification(PhoneNumberSpecification.Match.EQUALS, number);
     }
 
     /**
@@ -56,29 +72,50 @@ public class ContactSpecifications {
      * @return a Specification for filtering by email.
      */
     public static Specification<Contact> emailContains(String emailPart) {
-        return contact -> {
-            if (emailPart == null || emailPart.trim().isEmpty()) {
-                return true;
-            }
-            String lowerEmailPart = emailPart.toLowerCase();
-            return contact.getEmailAddresses().stream()
-                    .map(EmailAddress::getEmail)
-                    .anyMatch(email -> email.toLowerCase().contains(lowerEmailPart));
-        };
+        return new EmailAddressSpecification(EmailAddressSpecification.Match.CONTAINS, emailPart);
+    }
+
+    /**
+     * Specification to check if contact has an email in the given domain or one
+     * of its subdomains (case-insensitive).
+     * 
+     * @param domain the domain, with or without a leading '@'.
+     * @return a Specification for filtering by email domain.
+     */
+    public static Specification<Contact> emailDomain(String domain) {
+        return new EmailAddressSpecification(EmailAddressSpecification.Match.DOMAIN, domain);
+    }
+
+    /**
+     * Specification to check if contact has an email whose local part (before
+     * the '@') starts with the given prefix (case-insensitive).
+     * 
+     * @param prefix the local-part prefix.
+     * @return a Specification for filtering by email local part.
+     */
+    public static Specification<Contact> emailLocalPartStartsWith(String prefix) {
+        return new EmailAddressSpecification(EmailAddressSpecification.Match.LOCAL_PART_STARTS_WITH, prefix);
     }
 
     /**
      * Specification to check if contact has a tag containing the given string
      * (case-insensitive).
+     * 
+     * @param tagPart the substring to search for in tag names.
+     * @return a Specification for filtering by tag.
      */
     public static Specification<Contact> tagContains(String tagPart) {
-        return contact -> {
-            if (tagPart == null || tagPart.trim().isEmpty()) {
-                return true;
-            }
-            String lowerTagPart = tagPart.toLowerCase();
-            return contact.getTags().stream()
-                    .anyMatch(t -> t.toLowerCase().contains(lowerTagPart));
-        };
+        return new TagSpecification(TagSpecification.Match.CONTAINS, tagPart);
+    }
+
+    /**
+     * Specification to check if contact has a tag with exactly the given name
+     * (case-insensitive).
+     * 
+     * @param tagName the tag name.
+     * @return a Specification for filtering by tag.
+     */
+    public static Specification<Contact> hasTag(String tagName) {
+        return new TagSpecification(TagSpecification.Match.EQUALS, tagName);
     }
 }
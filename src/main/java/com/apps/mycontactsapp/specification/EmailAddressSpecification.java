@@ -0,0 +1,146 @@
+package com.apps.mycontactsapp.specification;
+
+import java.util.Objects;
+
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.EmailAddress;
+
+/**
+ * Specification matching contacts by the domain or the local part of their
+ * email addresses, or by a substring of the whole address (case-insensitive).
+ *
+ * A domain search also matches subdomains, so "acme.com" finds both
+ * "jo@acme.com" and "jo@mail.acme.com". Kept as a named type so that search
+ * code can answer it from an email index.
+ */
+public class EmailAddressSpecification implements Specification<Contact> {
+
+    /**
+     * Which part of each address is matched.
+     */
+    public enum Match {
+        DOMAIN,
+        LOCAL_PART_STARTS_WITH,
+        CONTAINS
+    }
+
+    private final Match match;
+    private final String value;
+
+    /**
+     * Constructs a new EmailAddressSpecification.
+     *
+     * @param match which part of the address to match.
+     * @param value the domain, local-part prefix or substring; a leading '@'
+     *              on a domain is ignored.
+     */
+    public EmailAddressSpecification(Match match, String value) {
+        this.match = match;
+        this.value = normalize(match, value);
+    }
+
+    /**
+     * Gets which part of the address is matched.
+     *
+     * @return the match mode.
+     */
+    public Match getMatch() {
+        return match;
+    }
+
+    /**
+     * Gets the normalized (trimmed, lower-cased) value searched for.
+     *
+     * @return the value, empty if the search matches everything.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     * An empty search matches all contacts.
+     */
+    @Override
+    public boolean isSatisfiedBy(Contact contact) {
+        if (value.isEmpty()) {
+            return true;
+        }
+        for (EmailAddress email : contact.getEmailAddressesView()) {
+            if (match == Match.DOMAIN) {
+                String domain = email.getDomain();
+                int start = domain.length() - value.length();
+                if (domain.endsWith(value) && (start == 0 || domain.charAt(start - 1) == '.')) {
+                    return true;
+                }
+            } else if (match == Match.LOCAL_PART_STARTS_WITH) {
+                if (email.getLocalPart().startsWith(value)) {
+                    return true;
+                }
+            } else if (email.getEmail().toLowerCase().contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Equal criteria give equal specifications, so results can be cached.
+     */
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * Checks equality based on the search criteria.
+     *
+     * @param o the object to compare.
+     * @return true if equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        EmailAddressSpecification that = (EmailAddressSpecification) o;
+        return match == that.match && Objects.equals(value, that.value);
+    }
+
+    /**
+     * Generates a hash code based on the search criteria.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(match, value);
+    }
+
+    /**
+     * Returns a readable form of the criteria.
+     * 
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        return "email " + match.name().toLowerCase().replace('_', ' ') + " \"" + value + "\"";
+    }
+
+    private static String normalize(Match match, String value) {
+        if (value == null) {
+            return "";
+        }
+        if (match == Match.CONTAINS) {
+            // Substrings are matched as typed, only case-folded
+            return value.trim().isEmpty() ? "" : value.toLowerCase();
+        }
+        String normalized = value.trim().toLowerCase();
+        if (match == Match.DOMAIN && normalized.startsWith("@")) {
+            normalized = normalized.substring(1);
+        }
+        return normalized;
+    }
+}
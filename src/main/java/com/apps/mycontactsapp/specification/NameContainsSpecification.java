@@ -0,0 +1,94 @@
+package com.apps.mycontactsapp.specification;
+
+import java.util.Objects;
+
+import com.apps.mycontactsapp.model.Contact;
+
+/**
+ * Specification matching contacts whose display name contains a substring
+ * (case-insensitive).
+ *
+ * Kept as a named type rather than a lambda so that search code can recognise
+ * it and answer it from a name index instead of scanning every contact.
+ */
+public class NameContainsSpecification implements Specification<Contact> {
+
+    private final String namePart;
+
+    /**
+     * Constructs a new NameContainsSpecification.
+     *
+     * @param namePart the substring to search for in the name.
+     */
+    public NameContainsSpecification(String namePart) {
+        this.namePart = namePart;
+    }
+
+    /**
+     * Gets the substring this specification searches for.
+     *
+     * @return the name part.
+     */
+    public String getNamePart() {
+        return namePart;
+    }
+
+    /**
+     * {@inheritDoc}
+     * An empty search matches all contacts.
+     */
+    @Override
+    public boolean isSatisfiedBy(Contact contact) {
+        if (namePart == null || namePart.trim().isEmpty()) {
+            return true; // Empty search matches all
+        }
+        String lowerNamePart = namePart.toLowerCase();
+        return contact.getDisplayName() != null &&
+                contact.getDisplayName().toLowerCase().contains(lowerNamePart);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Equal criteria give equal specifications, so results can be cached.
+     */
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * Checks equality based on the search criteria.
+     *
+     * @param o the object to compare.
+     * @return true if equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        NameContainsSpecification that = (NameContainsSpecification) o;
+        return Objects.equals(namePart, that.namePart);
+    }
+
+    /**
+     * Generates a hash code based on the search criteria.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(namePart);
+    }
+
+    /**
+     * Returns a readable form of the criteria.
+     * 
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        return "name contains \"" + namePart + "\"";
+    }
+}
@@ -1,5 +1,7 @@
 package com.apps.mycontactsapp.specification;
 
+import java.util.Objects;
+
 /**
  * Specification implementation for logical NOT operation.
  * 
@@ -26,4 +28,58 @@ public class NotSpecification<T> implements Specification<T> {
     public boolean isSatisfiedBy(T t) {
         return !spec.isSatisfiedBy(t);
     }
+
+    /**
+     * Gets the negated specification.
+     * 
+     * @return the operand.
+     */
+    public Specification<T> getSpec() {
+        return spec;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Cacheable when every operand is.
+     */
+    @Override
+    public boolean isCacheable() {
+        return spec.isCacheable();
+    }
+
+    /**
+     * Checks equality based on the operands, in order.
+     *
+     * @param o the object to compare.
+     * @return true if equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        NotSpecification<?> that = (NotSpecification<?>) o;
+        return spec.equals(that.spec);
+    }
+
+    /**
+     * Generates a hash code based on the operands.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(spec);
+    }
+
+    /**
+     * Returns a readable form of the negated criteria.
+     * 
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        return "NOT " + spec;
+    }
 }
@@ -0,0 +1,133 @@
+package com.apps.mycontactsapp.specification;
+
+import java.util.Objects;
+
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.PhoneNumber;
+
+/**
+ * Specification matching contacts that have a phone number equal to, starting
+ * with, ending with or containing the given digits.
+ *
+ * Kept as a named type so that search code can answer it from a phone index.
+ */
+public class PhoneNumberSpecification implements Specification<Contact> {
+
+    /**
+     * How the digits are matched against each phone number.
+     */
+    public enum Match {
+        EQUALS,
+        STARTS_WITH,
+        ENDS_WITH,
+        CONTAINS
+    }
+
+    private final Match match;
+    private final String digits;
+
+    /**
+     * Constructs a new PhoneNumberSpecification.
+     *
+     * @param match  how to match the digits.
+     * @param digits the digits to search for.
+     */
+    public PhoneNumberSpecification(Match match, String digits) {
+        this.match = match;
+        this.digits = digits;
+    }
+
+    /**
+     * Gets how the digits are matched.
+     *
+     * @return the match mode.
+     */
+    public Match getMatch() {
+        return match;
+    }
+
+    /**
+     * Gets the digits this specification searches for.
+     *
+     * @return the digits.
+     */
+    public String getDigits() {
+        return digits;
+    }
+
+    /**
+     * {@inheritDoc}
+     * An empty search matches all contacts.
+     */
+    @Override
+    public boolean isSatisfiedBy(Contact contact) {
+        if (digits == null || digits.trim().isEmpty()) {
+            return true;
+        }
+        for (PhoneNumber phone : contact.getPhoneNumbersView()) {
+            if (matches(phone.getNumber())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Equal criteria give equal specifications, so results can be cached.
+     */
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * Checks equality based on the search criteria.
+     *
+     * @param o the object to compare.
+     * @return true if equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        PhoneNumberSpecification that = (PhoneNumberSpecification) o;
+        return match == that.match && Objects.equals(digits, that.digits);
+    }
+
+    /**
+     * Generates a hash code based on the search criteria.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(match, digits);
+    }
+
+    /**
+     * Returns a readable form of the criteria.
+     * 
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        return "phone " + match.name().toLowerCase().replace('_', ' ') + " \"" + digits + "\"";
+    }
+
+    private boolean matches(String number) {
+        switch (match) {
+            case EQUALS:
+                return number.equals(digits);
+            case STARTS_WITH:
+                return number.startsWith(digits);
+            case ENDS_WITH:
+                return number.endsWith(digits);
+            case CONTAINS:
+            default:
+                return number.contains(digits);
+        }
+    }
+}
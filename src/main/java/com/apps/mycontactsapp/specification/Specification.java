@@ -44,4 +44,16 @@ public interface Specification<T> {
     default Specification<T> not() {
         return new NotSpecification<>(this);
     }
+
+    /**
+     * Tells whether this specification can key a result cache: it compares by
+     * value, so equal criteria give equal specifications, and its outcome for
+     * an object depends only on that object's state. Lambdas have no value
+     * identity, so the default is false.
+     * 
+     * @return true if results for this specification may be cached.
+     */
+    default boolean isCacheable() {
+        return false;
+    }
 }
@@ -0,0 +1,137 @@
+package com.apps.mycontactsapp.specification;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import com.apps.mycontactsapp.model.Contact;
+import com.apps.mycontactsapp.model.Tag;
+
+/**
+ * Specification matching contacts by tag name (case-insensitive), either by
+ * exact name or by substring.
+ *
+ * Kept as a named type so that search code can answer it from a tag index.
+ */
+public class TagSpecification implements Specification<Contact> {
+
+    /**
+     * How the text is matched against each tag name.
+     */
+    public enum Match {
+        EQUALS,
+        CONTAINS
+    }
+
+    private final Match match;
+    private final String text;
+    private final Predicate<Tag> tagMatcher;
+
+    /**
+     * Constructs a new TagSpecification.
+     *
+     * @param match how to match the text.
+     * @param text  the tag name or part of it.
+     */
+    public TagSpecification(Match match, String text) {
+        this.match = match;
+        this.text = text;
+        this.tagMatcher = match == Match.EQUALS
+                ? tag -> tag.getName().equalsIgnoreCase(text)
+                : tag -> containsIgnoreCase(tag.getName(), text);
+    }
+
+    /**
+     * Gets how the text is matched.
+     *
+     * @return the match mode.
+     */
+    public Match getMatch() {
+        return match;
+    }
+
+    /**
+     * Gets the text this specification searches for.
+     *
+     * @return the tag name or part of it.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * {@inheritDoc}
+     * An empty search matches all contacts.
+     */
+    @Override
+    public boolean isSatisfiedBy(Contact contact) {
+        if (text == null || text.trim().isEmpty()) {
+            return true;
+        }
+        return contact.anyTagMatches(tagMatcher);
+    }
+
+    /**
+     * Checks a single tag against the criteria, e.g. for a tag index to select
+     * the same tags this specification accepts.
+     *
+     * @param tag the tag to check.
+     * @return true if the tag matches.
+     */
+    public boolean matches(Tag tag) {
+        return tagMatcher.test(tag);
+    }
+
+    private static boolean containsIgnoreCase(String name, String part) {
+        for (int i = 0, last = name.length() - part.length(); i <= last; i++) {
+            if (name.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Equal criteria give equal specifications, so results can be cached.
+     */
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * Checks equality based on the search criteria.
+     *
+     * @param o the object to compare.
+     * @return true if equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        TagSpecification that = (TagSpecification) o;
+        return match == that.match && Objects.equals(text, that.text);
+    }
+
+    /**
+     * Generates a hash code based on the search criteria.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(match, text);
+    }
+
+    /**
+     * Returns a readable form of the criteria.
+     * 
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        return "tag " + (match == Match.EQUALS ? "equals" : "contains") + " \"" + text + "\"";
+    }
+}
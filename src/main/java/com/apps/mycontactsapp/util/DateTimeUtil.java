@@ -0,0 +1,79 @@
+package com.apps.mycontactsapp.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Utility class for compact timestamp storage.
+ *
+ * Timestamps are stored as epoch milliseconds of their wall-clock value read
+ * at UTC, the same convention the file repository uses on disk. The encoding
+ * is lossless down to the millisecond and does not depend on the system zone.
+ */
+public class DateTimeUtil {
+
+    // System zone offset and the instant range it holds for, in epoch millis
+    private static final class OffsetWindow {
+        private final long from;
+        private final long until;
+        private final long offsetMillis;
+
+        private OffsetWindow(long from, long until, long offsetMillis) {
+            this.from = from;
+            this.until = until;
+            this.offsetMillis = offsetMillis;
+        }
+
+        private static OffsetWindow at(long epochMillis) {
+            Instant instant = Instant.ofEpochMilli(epochMillis);
+            ZoneRules rules = ZoneId.systemDefault().getRules();
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            long until = next == null ? Long.MAX_VALUE : next.toEpochSecond() * 1000L;
+            return new OffsetWindow(epochMillis, until, rules.getOffset(instant).getTotalSeconds() * 1000L);
+        }
+    }
+
+    private static volatile OffsetWindow window = new OffsetWindow(0L, 0L, 0L);
+
+    /**
+     * Encodes the current time, as {@code toEpochMillis(LocalDateTime.now())}
+     * would, without allocating. The system zone offset is cached until its
+     * next transition.
+     *
+     * @return the encoded current time.
+     */
+    public static long currentEpochMillis() {
+        long now = System.currentTimeMillis();
+        OffsetWindow current = window;
+        if (now < current.from || now >= current.until) {
+            current = OffsetWindow.at(now);
+            window = current;
+        }
+        return now + current.offsetMillis;
+    }
+
+    /**
+     * Encodes a timestamp as epoch milliseconds.
+     *
+     * @param dateTime the timestamp.
+     * @return the encoded value.
+     */
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Decodes a timestamp produced by {@link #toEpochMillis(LocalDateTime)}.
+     *
+     * @param epochMillis the encoded value.
+     * @return the timestamp.
+     */
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+}
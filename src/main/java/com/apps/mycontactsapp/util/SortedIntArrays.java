@@ -0,0 +1,167 @@
+package com.apps.mycontactsapp.util;
+
+import java.util.Arrays;
+
+/**
+ * Utility class for sets of ints stored as sorted arrays without duplicates.
+ *
+ * Each method reads the first {@code length} elements of its arrays, so
+ * callers can keep spare capacity at the end. Set operations walk both inputs
+ * once in a merge, which for the handful of tags a contact carries is cheaper
+ * than hashing.
+ */
+public class SortedIntArrays {
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * Checks whether a sorted array contains a value, by binary search.
+     *
+     * @param a      the sorted array.
+     * @param length the number of elements in use.
+     * @param value  the value to look for.
+     * @return true if present.
+     */
+    public static boolean contains(int[] a, int length, int value) {
+        return Arrays.binarySearch(a, 0, length, value) >= 0;
+    }
+
+    /**
+     * Checks whether every element of b is in a.
+     *
+     * @param a       the sorted array to search.
+     * @param aLength the number of elements of a in use.
+     * @param b       the sorted array of required values.
+     * @param bLength the number of elements of b in use.
+     * @return true if b is a subset of a.
+     */
+    public static boolean containsAll(int[] a, int aLength, int[] b, int bLength) {
+        int i = 0;
+        for (int j = 0; j < bLength; j++) {
+            while (i < aLength && a[i] < b[j]) {
+                i++;
+            }
+            if (i == aLength || a[i] != b[j]) {
+                return false;
+            }
+            i++;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a and b share at least one element.
+     *
+     * @param a       the first sorted array.
+     * @param aLength the number of elements of a in use.
+     * @param b       the second sorted array.
+     * @param bLength the number of elements of b in use.
+     * @return true if the sets intersect.
+     */
+    public static boolean intersects(int[] a, int aLength, int[] b, int bLength) {
+        int i = 0;
+        int j = 0;
+        while (i < aLength && j < bLength) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the elements present in both a and b.
+     *
+     * @param a       the first sorted array.
+     * @param aLength the number of elements of a in use.
+     * @param b       the second sorted array.
+     * @param bLength the number of elements of b in use.
+     * @return a new sorted array, exactly sized.
+     */
+    public static int[] intersection(int[] a, int aLength, int[] b, int bLength) {
+        int[] out = new int[Math.min(aLength, bLength)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < aLength && j < bLength) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return trim(out, n);
+    }
+
+    /**
+     * Computes the elements present in a or b.
+     *
+     * @param a       the first sorted array.
+     * @param aLength the number of elements of a in use.
+     * @param b       the second sorted array.
+     * @param bLength the number of elements of b in use.
+     * @return a new sorted array, exactly sized.
+     */
+    public static int[] union(int[] a, int aLength, int[] b, int bLength) {
+        int[] out = new int[aLength + bLength];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < aLength && j < bLength) {
+            if (a[i] < b[j]) {
+                out[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        while (i < aLength) {
+            out[n++] = a[i++];
+        }
+        while (j < bLength) {
+            out[n++] = b[j++];
+        }
+        return trim(out, n);
+    }
+
+    /**
+     * Computes the elements present in a but not in b.
+     *
+     * @param a       the first sorted array.
+     * @param aLength the number of elements of a in use.
+     * @param b       the sorted array of values to remove.
+     * @param bLength the number of elements of b in use.
+     * @return a new sorted array, exactly sized.
+     */
+    public static int[] difference(int[] a, int aLength, int[] b, int bLength) {
+        int[] out = new int[aLength];
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < aLength; i++) {
+            while (j < bLength && b[j] < a[i]) {
+                j++;
+            }
+            if (j == bLength || b[j] != a[i]) {
+                out[n++] = a[i];
+            }
+        }
+        return trim(out, n);
+    }
+
+    private static int[] trim(int[] a, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        return length == a.length ? a : Arrays.copyOf(a, length);
+    }
+}